@@ -0,0 +1,171 @@
+package benchmarks;
+
+import helpers.BulkImporter;
+import helpers.DatabaseConfig;
+import helpers.InputValidator;
+import helpers.PasswordHasher;
+import helpers.StudentDAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+// Fills the benchmark database to a given number of complaints. Students get about
+// twenty complaints each, statuses and categories follow a fixed mix, and created_at
+// is spread over the past year, so the list queries walk realistic index ranges. The
+// data is generated from a fixed seed; running again only tops up or trims.
+public class BenchmarkData {
+
+    public static final String EMAIL_DOMAIN = "@bench.local";
+    public static final String PASSWORD = "bench-password";
+
+    private static final int COMPLAINTS_PER_STUDENT = 20;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] WORDS = {
+            "projector", "library", "wifi", "hostel", "exam", "timetable", "canteen", "lab", "fees",
+            "lecture", "parking", "heating", "portal", "library", "grades", "registration", "noise",
+            "broken", "late", "missing", "slow", "cold", "crowded", "closed", "again", "since", "monday"
+    };
+
+    public record Dataset(int complaints, int students) {
+
+        public String email(int student) {
+            return "bench" + Math.floorMod(student, students) + EMAIL_DOMAIN;
+        }
+    }
+
+    public static int parseScale(String scale) {
+        String s = scale.trim().toLowerCase();
+        if (s.endsWith("k")) return Integer.parseInt(s.substring(0, s.length() - 1)) * 1_000;
+        if (s.endsWith("m")) return Integer.parseInt(s.substring(0, s.length() - 1)) * 1_000_000;
+        return Integer.parseInt(s);
+    }
+
+    public static Dataset populate(int complaints) throws SQLException {
+        // Never top up or trim the real portal database
+        if (!DatabaseConfig.getDatabaseName().contains("bench")) {
+            throw new IllegalStateException("Refusing to load benchmark data into " + DatabaseConfig.getDatabaseName()
+                    + "; use -Dportal.db.name=<name containing 'bench'>");
+        }
+
+        Dataset dataset = new Dataset(complaints, Math.max(10, complaints / COMPLAINTS_PER_STUDENT));
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            insertStudents(conn, dataset);
+            resizeComplaints(conn, dataset);
+        }
+        return dataset;
+    }
+
+    private static int count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void insertStudents(Connection conn, Dataset dataset) throws SQLException {
+        // The schema's sample student is not one of ours
+        int existing = count(conn, "SELECT COUNT(*) FROM students WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+        if (existing >= dataset.students()) return;
+
+        // One hash for everyone: the login benchmark measures the query, not PBKDF2
+        String hash = new PasswordHasher(1_000).hash(PASSWORD);
+        long start = System.nanoTime();
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(StudentDAO.SQL_INSERT)) {
+            for (int i = existing; i < dataset.students(); i++) {
+                insert.setString(1, "Bench Student " + i);
+                insert.setString(2, String.format("B%07d", i));
+                insert.setString(3, "Department " + i % 12);
+                insert.setString(4, String.format("07%09d", i));
+                insert.setString(5, dataset.email(i));
+                insert.setString(6, hash);
+                insert.addBatch();
+                if ((i - existing + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    conn.commit();
+                }
+            }
+            insert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        System.out.printf("Inserted %,d students (%.1f s)%n", dataset.students() - existing, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void resizeComplaints(Connection conn, Dataset dataset) throws SQLException {
+        int existing = count(conn, "SELECT COUNT(*) FROM complaints");
+        if (existing > dataset.complaints()) {
+            int cutoff;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM complaints ORDER BY id LIMIT 1 OFFSET ?")) {
+                stmt.setInt(1, dataset.complaints());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    cutoff = rs.getInt(1);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM complaints WHERE id >= ?")) {
+                stmt.setInt(1, cutoff);
+                System.out.printf("Trimmed %,d complaints%n", stmt.executeUpdate());
+            }
+            return;
+        }
+        if (existing == dataset.complaints()) return;
+
+        List<String> statuses = InputValidator.STATUSES;
+        List<String> categories = InputValidator.CATEGORIES;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        long spanSeconds = 365L * 24 * 3600;
+        Random random = new Random(42L + existing);
+        StringBuilder text = new StringBuilder();
+
+        long start = System.nanoTime();
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(BulkImporter.SQL_INSERT_COMPLAINT)) {
+            for (int i = existing; i < dataset.complaints(); i++) {
+                // Half pending, a quarter in progress, a quarter resolved
+                int roll = random.nextInt(4);
+                String status = statuses.get(roll < 2 ? 0 : roll - 1);
+
+                insert.setString(1, sentence(random, text, 4));
+                insert.setString(2, sentence(random, text, 30));
+                insert.setString(3, categories.get(random.nextInt(categories.size())));
+                insert.setString(4, dataset.email(random.nextInt(dataset.students())));
+                insert.setString(5, status);
+                insert.setString(6, status.equals("Resolved") ? sentence(random, text, 12) : null);
+                // Older ids get older timestamps, like a real history
+                long age = spanSeconds - spanSeconds * i / dataset.complaints();
+                insert.setTimestamp(7, Timestamp.valueOf(now.minusSeconds(age)));
+                insert.addBatch();
+
+                if ((i - existing + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    conn.commit();
+                    System.out.printf("\r  %,d / %,d complaints", i + 1, dataset.complaints());
+                }
+            }
+            insert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        System.out.printf("\rInserted %,d complaints (%.1f s)%n", dataset.complaints() - existing, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static String sentence(Random random, StringBuilder text, int words) {
+        text.setLength(0);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.toString();
+    }
+}
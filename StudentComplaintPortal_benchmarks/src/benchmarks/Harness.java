@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+// A small JMH-style runner: warm-up iterations to settle the JIT, the pool and the
+// statement caches, then measured iterations of a fixed length, reported as mean
+// operations per second with the spread between iterations. Everything runs in this
+// JVM, on one thread, against whatever database DatabaseConfig points at.
+public class Harness {
+
+    @FunctionalInterface
+    public interface Operation {
+        // i counts the calls, so operations can vary their keys
+        Object call(int i) throws Exception;
+    }
+
+    public record Result(String name, double opsPerSecond, double error, long calls) {
+
+        @Override
+        public String toString() {
+            return String.format("%-48s %14.1f +/- %5.1f%% ops/s  (%d calls)", name, opsPerSecond,
+                    opsPerSecond == 0 ? 0 : error / opsPerSecond * 100, calls);
+        }
+    }
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationNanos;
+
+    // Results are folded in here so the JIT cannot drop a call whose value is unused
+    private volatile int sink;
+
+    public Harness(int warmupIterations, int iterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+    }
+
+    // opsPerCall > 1 when one call handles several items, e.g. rows mapped per call.
+    // The first call must return something real: the DAOs answer null, false or an
+    // empty result when a query fails, which would otherwise look very fast.
+    public Result run(String name, int opsPerCall, Operation operation) throws Exception {
+        Object first = operation.call(0);
+        if (first == null || Boolean.FALSE.equals(first)
+                || first instanceof java.util.Collection<?> c && c.isEmpty()) {
+            throw new IllegalStateException(name + ": first call returned " + first + ", is the data set populated?");
+        }
+
+        int[] counter = {1};
+        for (int i = 0; i < warmupIterations; i++) {
+            measure(operation, counter);
+        }
+
+        double[] rates = new double[iterations];
+        long calls = 0;
+        for (int i = 0; i < iterations; i++) {
+            long before = counter[0];
+            rates[i] = measure(operation, counter) * opsPerCall;
+            calls += counter[0] - before;
+        }
+
+        double mean = 0;
+        for (double rate : rates) mean += rate;
+        mean /= iterations;
+        double variance = 0;
+        for (double rate : rates) variance += (rate - mean) * (rate - mean);
+        double stdev = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+        return new Result(name, mean, stdev, calls);
+    }
+
+    // Calls per second over one iteration
+    private double measure(Operation operation, int[] counter) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long calls = 0;
+        int hash = 0;
+        do {
+            Object result = operation.call(counter[0]++);
+            hash += System.identityHashCode(result);
+            calls++;
+        } while (System.nanoTime() < deadline);
+        sink += hash;
+        return calls / ((System.nanoTime() - start) / 1e9);
+    }
+}
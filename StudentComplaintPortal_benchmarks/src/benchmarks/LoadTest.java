@@ -0,0 +1,262 @@
+package benchmarks;
+
+import benchmarks.BenchmarkData.Dataset;
+import helpers.DatabaseConfig;
+import helpers.InputValidator;
+import helpers.LogConfig;
+import helpers.Metrics;
+import helpers.SceneSwitcher;
+import models.Complaint;
+import models.ComplaintSummary;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exam-week traffic without the UI: virtual users on virtual threads call the same
+// SceneSwitcher methods the screens call, with think time between actions:
+//
+//   java -cp ... benchmarks.LoadTest [--users 200] [--seconds 60] [--warmup 10] [--ramp 5]
+//        [--think-ms 500] [--scale 100k] [--keep]
+//        [--mix login=10,submit=10,myComplaints=45,adminStatus=10,dashboard=25]
+//
+//   login         authenticate, then the student dashboard stats
+//   submit        a new complaint
+//   myComplaints  the student's complaint list and one complaint opened
+//   adminStatus   an admin opens a complaint and changes its status
+//   dashboard     admin stats and the first page of the complaint table
+//
+// Data comes from BenchmarkData (the student_complaint_portal_bench_<scale> database).
+// Throughput, latency percentiles and error rates are reported per action after the
+// warm-up; complaints submitted by the run are deleted at the end unless --keep.
+// It is a closed loop, so a slow server also slows the offered load: compare
+// throughput, not only latency, between runs.
+public class LoadTest {
+
+    private static final String SUBMIT_TITLE = "Load test complaint";
+    private static final int PAGE_SIZE = 50;
+    private static final List<String> ACTIONS = List.of("login", "submit", "myComplaints", "adminStatus", "dashboard");
+
+    private static final class Action {
+        final String name;
+        final int weight;
+        final Metrics.Timer timer;
+        final LongAdder errors = new LongAdder();
+        // Why calls failed: an exception class, or "failed" when the call returned false/null
+        final Map<String, LongAdder> causes = new ConcurrentHashMap<>();
+
+        Action(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+            this.timer = Metrics.timer("load." + name);
+        }
+    }
+
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.parseInt(option(args, "--users", "200"));
+        int seconds = Integer.parseInt(option(args, "--seconds", "60"));
+        int warmup = Integer.parseInt(option(args, "--warmup", "10"));
+        int ramp = Integer.parseInt(option(args, "--ramp", "5"));
+        long thinkMillis = Long.parseLong(option(args, "--think-ms", "500"));
+        String scaleText = option(args, "--scale", "100k");
+        boolean keep = List.of(args).contains("--keep");
+        List<Action> actions = parseMix(option(args, "--mix",
+                "login=10,submit=10,myComplaints=45,adminStatus=10,dashboard=25"));
+
+        if (System.getProperty("portal.db.name") == null) {
+            System.setProperty("portal.db.name", "student_complaint_portal_bench_" + scaleText.toLowerCase());
+        }
+        if (System.getProperty("portal.log.level") == null) {
+            System.setProperty("portal.log.level", "WARNING");
+        }
+        LogConfig.configure();
+        DatabaseConfig.startup().join();
+        Dataset data = BenchmarkData.populate(BenchmarkData.parseScale(scaleText));
+
+        System.out.printf("%d users, think time %d ms, %d s warm-up + %d s measured against %s%n",
+                users, thinkMillis, warmup, seconds, DatabaseConfig.getDatabaseName());
+
+        int totalWeight = actions.stream().mapToInt(a -> a.weight).sum();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int u = 0; u < users; u++) {
+            int user = u;
+            long startDelay = ramp * 1000L * u / Math.max(1, users);
+            executor.execute(() -> runUser(user, startDelay, thinkMillis, data, actions, totalWeight));
+        }
+
+        try {
+            TimeUnit.SECONDS.sleep(warmup);
+            for (Action action : actions) {
+                action.timer.reset();
+                action.errors.reset();
+                action.causes.clear();
+            }
+
+            long start = System.nanoTime();
+            long lastCount = 0;
+            for (int elapsed = 0; elapsed < seconds; ) {
+                int step = Math.min(5, seconds - elapsed);
+                TimeUnit.SECONDS.sleep(step);
+                elapsed += step;
+                long count = actions.stream().mapToLong(a -> a.timer.getCount()).sum();
+                long errors = actions.stream().mapToLong(a -> a.errors.sum()).sum();
+                System.out.printf("  %3d s %8.1f actions/s  %,d errors  %s%n", elapsed,
+                        (count - lastCount) / (double) step, errors, DatabaseConfig.getPoolStats());
+                lastCount = count;
+            }
+            report(actions, (System.nanoTime() - start) / 1e9);
+        } finally {
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+            if (!keep) cleanUp();
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private static void runUser(int user, long startDelay, long thinkMillis, Dataset data,
+                                List<Action> actions, int totalWeight) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = data.email(user * 7919);
+        try {
+            Thread.sleep(startDelay);
+            while (running) {
+                Action action = pick(actions, random.nextInt(totalWeight));
+                long start = System.nanoTime();
+                String failure = null;
+                try {
+                    if (!perform(action.name, email, data, random)) failure = "failed";
+                } catch (RuntimeException e) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    failure = cause.getClass().getSimpleName();
+                }
+                action.timer.recordSince(start);
+                if (failure != null) {
+                    action.errors.increment();
+                    action.causes.computeIfAbsent(failure, k -> new LongAdder()).increment();
+                }
+
+                // Exponential think time, so users do not march in step
+                if (thinkMillis > 0) {
+                    Thread.sleep((long) (-thinkMillis * Math.log(1 - random.nextDouble())));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Action pick(List<Action> actions, int roll) {
+        for (Action action : actions) {
+            roll -= action.weight;
+            if (roll < 0) return action;
+        }
+        return actions.get(actions.size() - 1);
+    }
+
+    // Each action does what its screen does; false means the user would see an error
+    private static boolean perform(String action, String email, Dataset data, ThreadLocalRandom random) {
+        switch (action) {
+            case "login": {
+                if (SceneSwitcher.authenticate(email, BenchmarkData.PASSWORD).join() == null) return false;
+                return SceneSwitcher.getStudentDashboardStats(email) != null;
+            }
+            case "submit": {
+                Complaint complaint = new Complaint();
+                complaint.setTitle(SUBMIT_TITLE);
+                complaint.setDescription("Submitted during a load test by " + email);
+                complaint.setCategory(InputValidator.CATEGORIES.get(random.nextInt(InputValidator.CATEGORIES.size())));
+                complaint.setStudentEmail(email);
+                complaint.setStatus("Pending");
+                return SceneSwitcher.addComplaint(complaint);
+            }
+            case "myComplaints": {
+                List<ComplaintSummary> mine = SceneSwitcher.getComplaintSummariesByStudentEmail(email);
+                if (mine.isEmpty()) return true;
+                return SceneSwitcher.getComplaintById(mine.get(random.nextInt(mine.size())).getId()) != null;
+            }
+            case "adminStatus": {
+                Complaint complaint = SceneSwitcher.getComplaintById(1 + random.nextInt(data.complaints()));
+                if (complaint == null) return true; // deleted or trimmed id, the admin would not see it
+                List<String> statuses = InputValidator.STATUSES;
+                return SceneSwitcher.setComplaintStatus(complaint.getId(), statuses.get(random.nextInt(statuses.size())));
+            }
+            case "dashboard": {
+                if (SceneSwitcher.getDashboardStats() == null) return false;
+                return SceneSwitcher.getComplaintsPage(null, null, PAGE_SIZE) != null;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown action: " + action);
+        }
+    }
+
+    private static void report(List<Action> actions, double seconds) {
+        System.out.printf("%n%-14s %9s %10s %9s %9s %9s %9s %8s%n",
+                "action", "count", "per sec", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        long total = 0;
+        long totalErrors = 0;
+        for (Action action : actions) {
+            Metrics.Snapshot s = action.timer.snapshot();
+            long errors = action.errors.sum();
+            total += s.count();
+            totalErrors += errors;
+            System.out.printf("%-14s %,9d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n", action.name, s.count(),
+                    s.count() / seconds, s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(),
+                    s.count() == 0 ? 0 : errors * 100.0 / s.count());
+        }
+        System.out.printf("%-14s %,9d %10.1f %49.2f%%%n", "total", total, total / seconds,
+                total == 0 ? 0 : totalErrors * 100.0 / total);
+        for (Action action : actions) {
+            action.causes.forEach((cause, count) ->
+                    System.out.printf("  %s errors: %,d %s%n", action.name, count.sum(), cause));
+        }
+        System.out.println();
+        System.out.println(Metrics.report());
+    }
+
+    private static List<Action> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) throw new IllegalArgumentException("Expected name=weight in --mix: " + part);
+            if (!ACTIONS.contains(pair[0].trim())) {
+                throw new IllegalArgumentException("Unknown action " + pair[0].trim() + ", expected one of " + ACTIONS);
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        List<Action> actions = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            if (weight > 0) actions.add(new Action(name, weight));
+        });
+        if (actions.isEmpty()) throw new IllegalArgumentException("--mix has no actions with a positive weight");
+        return actions;
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM complaints WHERE title = ?")) {
+            stmt.setString(1, SUBMIT_TITLE);
+            System.out.printf("Deleted %,d submitted complaints%n", stmt.executeUpdate());
+        }
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) return args[i + 1];
+        }
+        return defaultValue;
+    }
+}
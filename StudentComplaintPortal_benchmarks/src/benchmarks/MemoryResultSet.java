@@ -0,0 +1,137 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// A read-only ResultSet over rows copied out of a real query, so the row mappers can
+// be timed without the network and the driver's row decoding. Only the calls the
+// mappers make are supported, by column index or by label; beforeFirst() rewinds for
+// the next run.
+final class MemoryResultSet implements InvocationHandler {
+
+    private final String[] labels;
+    private final List<Object[]> rows;
+    // Labels resolve through a map, as in the driver, so by-label reads cost a lookup
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final ResultSetMetaData metaData = metaData();
+    private int cursor = -1;
+    private boolean wasNull;
+
+    private MemoryResultSet(String[] labels, List<Object[]> rows) {
+        this.labels = labels;
+        this.rows = rows;
+        for (int i = labels.length; i > 0; i--) {
+            indexes.put(labels[i - 1].toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    static ResultSet copyOf(ResultSet source) throws SQLException {
+        return copyOf(source, 0);
+    }
+
+    // Same, repeating the rows until there are at least minRows of them, so a mapper can
+    // be timed over a large result even when the dataset is small.
+    static ResultSet copyOf(ResultSet source, int minRows) throws SQLException {
+        ResultSetMetaData md = source.getMetaData();
+        String[] labels = new String[md.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = md.getColumnLabel(i + 1);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (source.next()) {
+            Object[] row = new Object[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                row[i] = source.getObject(i + 1);
+            }
+            rows.add(row);
+        }
+        for (int i = 0, copied = rows.size(); copied > 0 && rows.size() < minRows; i = (i + 1) % copied) {
+            rows.add(rows.get(i));
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new MemoryResultSet(labels, rows));
+    }
+
+    static int size(ResultSet rs) {
+        return ((MemoryResultSet) Proxy.getInvocationHandler(rs)).rows.size();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                return ++cursor < rows.size();
+            case "beforeFirst":
+                cursor = -1;
+                return null;
+            case "wasNull":
+                return wasNull;
+            case "getMetaData":
+                return metaData;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            case "findColumn":
+                return index(args[0]);
+            case "getInt":
+                Object number = value(args[0]);
+                return number == null ? 0 : ((Number) number).intValue();
+            case "getString":
+                Object text = value(args[0]);
+                return text == null ? null : text.toString();
+            case "getObject":
+                Object object = value(args[0]);
+                if (args.length == 2 && object instanceof Timestamp ts && args[1] == LocalDateTime.class) {
+                    return ts.toLocalDateTime();
+                }
+                return object;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "MemoryResultSet(" + rows.size() + " rows)";
+            default:
+                throw new SQLException("MemoryResultSet does not support " + method.getName());
+        }
+    }
+
+    private Object value(Object column) throws SQLException {
+        Object value = rows.get(cursor)[column instanceof Integer index ? index - 1 : index(column) - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private int index(Object label) throws SQLException {
+        Integer index = indexes.get(((String) label).toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Column '" + label + "' not found");
+        }
+        return index;
+    }
+
+    private ResultSetMetaData metaData() {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> labels.length;
+            case "getColumnLabel", "getColumnName" -> labels[(Integer) args[0] - 1];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "MemoryResultSetMetaData";
+            default -> throw new SQLException("MemoryResultSet does not support " + method.getName());
+        };
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, handler);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import helpers.CredentialService;
+import helpers.PasswordHasher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Measures what a password hash costs on this machine and suggests an iteration count:
+//   java -cp ... benchmarks.PasswordHashBenchmark [target ms per login] [concurrent logins]
+// Use the suggestion with -Dportal.password.iterations=<n>. Aim for the highest cost
+// the login screen can afford; 50-100 ms per hash is the usual range.
+public class PasswordHashBenchmark {
+
+    private static final int[] ITERATIONS = {50_000, 100_000, 200_000, 310_000, 600_000};
+    private static final int SAMPLES = 10;
+
+    public static void main(String[] args) throws Exception {
+        double targetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 75;
+        int concurrent = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors()
+                + ", current setting: " + CredentialService.ITERATIONS + " iterations");
+
+        // Warm-up so the JIT has compiled the HMAC loop before anything is timed
+        PasswordHasher warmUp = new PasswordHasher(100_000);
+        for (int i = 0; i < 10; i++) {
+            warmUp.hash("warm-up password");
+        }
+
+        double microsPerIteration = 0;
+        for (int iterations : ITERATIONS) {
+            PasswordHasher hasher = new PasswordHasher(iterations);
+            String stored = hasher.hash("benchmark password");
+
+            long start = System.nanoTime();
+            for (int i = 0; i < SAMPLES; i++) {
+                hasher.verify("benchmark password", stored);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / SAMPLES;
+            microsPerIteration = millis * 1000 / iterations;
+            System.out.printf("  %,9d iterations %8.1f ms/verify %8.1f verifies/s per core%n",
+                    iterations, millis, 1000 / millis);
+        }
+
+        int suggested = (int) Math.max(10_000, Math.round(targetMillis * 1000 / microsPerIteration / 10_000) * 10_000);
+        System.out.printf("Suggested for %.0f ms per login: -Dportal.password.iterations=%d%n", targetMillis, suggested);
+
+        // How long a burst of simultaneous logins waits when they share all cores
+        PasswordHasher hasher = new PasswordHasher(suggested);
+        String stored = hasher.hash("benchmark password");
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < concurrent; i++) {
+                results.add(pool.submit(() -> hasher.verify("benchmark password", stored)));
+            }
+            for (Future<Boolean> result : results) {
+                result.get();
+            }
+            System.out.printf("  %d concurrent logins finished in %.0f ms%n", concurrent, (System.nanoTime() - start) / 1e6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
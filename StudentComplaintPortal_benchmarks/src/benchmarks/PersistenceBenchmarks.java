@@ -0,0 +1,260 @@
+package benchmarks;
+
+import benchmarks.BenchmarkData.Dataset;
+import helpers.ComplaintDAO;
+import helpers.DatabaseConfig;
+import helpers.LogConfig;
+import helpers.SceneSwitcher;
+import helpers.StudentDAO;
+import models.Complaint;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+// Throughput of the persistence and mapping hot paths against a local database filled
+// to a chosen size, compared with a saved baseline:
+//
+//   java -cp ... benchmarks.PersistenceBenchmarks [--scale 1k|100k|1M] [--filter regex]
+//        [--baseline file] [--save] [--threshold 0.10] [--iterations 5] [--millis 1000]
+//
+// Each scale gets its own database (student_complaint_portal_bench_<scale>, created and
+// migrated on first use; -Dportal.db.name overrides it). The baseline defaults to
+// benchmark-baseline-<scale>.properties in the working directory. --save records this
+// run as the new baseline; otherwise any benchmark slower than the baseline by more
+// than the threshold is reported and the exit status is 1, so a script can run it
+// before and after a change.
+public class PersistenceBenchmarks {
+
+    // Loading every row is only meaningful while "every row" still fits on a screen
+    private static final int MAX_SCALE_FOR_FULL_LIST = 100_000;
+    private static final String CLEANUP_TITLE = "Benchmark insert";
+    // Rows the mappers are timed over; small datasets are repeated up to this
+    private static final int MAPPED_ROWS = 10_000;
+
+    private record Benchmark(String name, int opsPerCall, Harness.Operation operation) {}
+
+    public static void main(String[] args) throws Exception {
+        String scaleText = option(args, "--scale", "1k");
+        int scale = BenchmarkData.parseScale(scaleText);
+        Pattern filter = Pattern.compile(option(args, "--filter", ".*"));
+        Path baselineFile = Path.of(option(args, "--baseline", "benchmark-baseline-" + scaleText.toLowerCase() + ".properties"));
+        boolean save = List.of(args).contains("--save");
+        double threshold = Double.parseDouble(option(args, "--threshold", "0.10"));
+        int iterations = Integer.parseInt(option(args, "--iterations", "5"));
+        long millis = Long.parseLong(option(args, "--millis", "1000"));
+
+        // Must be set before DatabaseConfig is loaded
+        if (System.getProperty("portal.db.name") == null) {
+            System.setProperty("portal.db.name", "student_complaint_portal_bench_" + scaleText.toLowerCase());
+        }
+        if (System.getProperty("portal.log.level") == null) {
+            System.setProperty("portal.log.level", "WARNING");
+        }
+        LogConfig.configure();
+        DatabaseConfig.startup().join();
+
+        System.out.printf("Database %s, %,d complaints%n", DatabaseConfig.getDatabaseName(), scale);
+        Dataset data = BenchmarkData.populate(scale);
+
+        Harness harness = new Harness(2, iterations, millis);
+        List<Harness.Result> results = new ArrayList<>();
+        try {
+            for (Benchmark benchmark : benchmarks(data)) {
+                if (!filter.matcher(benchmark.name()).find()) continue;
+                Harness.Result result = harness.run(benchmark.name(), benchmark.opsPerCall(), benchmark.operation());
+                System.out.println(result);
+                results.add(result);
+            }
+        } finally {
+            cleanUp();
+            DatabaseConfig.shutdown();
+        }
+
+        if (save) {
+            saveBaseline(baselineFile, scaleText, results);
+            System.out.println("Baseline saved to " + baselineFile.toAbsolutePath());
+        } else if (Files.exists(baselineFile)) {
+            if (compare(loadBaseline(baselineFile), results, threshold) > 0) {
+                System.exit(1);
+            }
+        } else {
+            System.out.println("No baseline at " + baselineFile.toAbsolutePath() + "; run with --save to create one");
+        }
+    }
+
+    private static List<Benchmark> benchmarks(Dataset data) throws SQLException {
+        ComplaintDAO complaints = new ComplaintDAO();
+        StudentDAO students = new StudentDAO();
+        ResultSet complaintRows = capture(MAPPED_ROWS, "SELECT * FROM complaints ORDER BY id LIMIT ?", MAPPED_ROWS);
+        ResultSet summaryRows = capture(0, ComplaintDAO.SQL_SUMMARIES_BY_STUDENT, data.email(0));
+        int maxId = data.complaints();
+
+        List<Benchmark> list = new ArrayList<>();
+        list.add(new Benchmark("mapRow.complaint", MemoryResultSet.size(complaintRows), i -> {
+            complaintRows.beforeFirst();
+            return ComplaintDAO.COMPLAINT_MAPPER.list(complaintRows);
+        }));
+        list.add(new Benchmark("mapRow.complaint.legacy", MemoryResultSet.size(complaintRows), i -> {
+            complaintRows.beforeFirst();
+            List<Complaint> mapped = new ArrayList<>();
+            while (complaintRows.next()) {
+                mapped.add(legacyMapRow(complaintRows));
+            }
+            return mapped;
+        }));
+        list.add(new Benchmark("mapRow.summary", MemoryResultSet.size(summaryRows), i -> {
+            summaryRows.beforeFirst();
+            return ComplaintDAO.SUMMARY_MAPPER.list(summaryRows);
+        }));
+
+        list.add(new Benchmark("ComplaintDAO.getComplaintById", 1,
+                i -> complaints.getComplaintById(1 + Math.floorMod(i * 7919, maxId))));
+        list.add(new Benchmark("ComplaintDAO.getComplaintSummariesByStudentEmail", 1,
+                i -> complaints.getComplaintSummariesByStudentEmail(data.email(i))));
+        list.add(new Benchmark("ComplaintDAO.getComplaintsByStudentEmail", 1,
+                i -> complaints.getComplaintsByStudentEmail(data.email(i))));
+        list.add(new Benchmark("ComplaintDAO.getComplaintsPage", 1,
+                i -> complaints.getComplaintsPage(null, null, 50).items()));
+        list.add(new Benchmark("ComplaintDAO.getComplaintsPage.status", 1,
+                i -> complaints.getComplaintsPage("Pending", null, 50).items()));
+        list.add(new Benchmark("ComplaintDAO.getDashboardStats", 1, i -> complaints.getDashboardStats()));
+        list.add(new Benchmark("ComplaintDAO.getStudentDashboardStats", 1,
+                i -> complaints.getStudentDashboardStats(data.email(i))));
+        if (data.complaints() <= MAX_SCALE_FOR_FULL_LIST) {
+            list.add(new Benchmark("ComplaintDAO.getAllComplaints", 1, i -> complaints.getAllComplaints()));
+        }
+        list.add(new Benchmark("ComplaintDAO.insertComplaint", 1, i -> {
+            Complaint c = new Complaint();
+            c.setTitle(CLEANUP_TITLE);
+            c.setDescription("Inserted by the benchmark run at " + LocalDateTime.now());
+            c.setCategory("Other");
+            c.setStudentEmail(data.email(i));
+            c.setStatus("Pending");
+            return complaints.insertComplaint(c);
+        }));
+
+        list.add(new Benchmark("StudentDAO.findStudentByEmail", 1, i -> students.findStudentByEmail(data.email(i))));
+        list.add(new Benchmark("StudentDAO.checkIdentity", 1,
+                i -> students.checkIdentity(data.email(i), "none")));
+
+        // The facade, with its caches, over a working set of 100 students
+        list.add(new Benchmark("SceneSwitcher.findStudentByEmail", 1,
+                i -> SceneSwitcher.findStudentByEmail(data.email(i % 100))));
+        list.add(new Benchmark("SceneSwitcher.getComplaintSummariesByStudentEmail", 1,
+                i -> SceneSwitcher.getComplaintSummariesByStudentEmail(data.email(i % 100))));
+        list.add(new Benchmark("SceneSwitcher.getComplaintById", 1,
+                i -> SceneSwitcher.getComplaintById(1 + Math.floorMod(i * 7919, 100))));
+        list.add(new Benchmark("SceneSwitcher.getStudentDashboardStats", 1,
+                i -> SceneSwitcher.getStudentDashboardStats(data.email(i % 100))));
+        return list;
+    }
+
+    // Rows the insert benchmark added; keeps the data set at its nominal size
+    private static void cleanUp() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM complaints WHERE title = ?")) {
+            stmt.setString(1, CLEANUP_TITLE);
+            stmt.executeUpdate();
+        }
+    }
+
+    // The row mapper ComplaintDAO used before column positions were resolved once per
+    // result: every read goes by label and every row rescans the metadata for feedback.
+    private static Complaint legacyMapRow(ResultSet rs) throws SQLException {
+        Complaint c = new Complaint();
+        c.setId(rs.getInt("id"));
+        c.setTitle(rs.getString("title"));
+        c.setDescription(rs.getString("description"));
+        c.setCategory(rs.getString("category"));
+        c.setStatus(rs.getString("status"));
+        c.setStudentEmail(rs.getString("student_email"));
+        if (hasColumn(rs, "feedback")) {
+            c.setFeedback(rs.getString("feedback"));
+        }
+        c.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return c;
+    }
+
+    private static boolean hasColumn(ResultSet rs, String columnLabel) {
+        try {
+            ResultSetMetaData md = rs.getMetaData();
+            int count = md.getColumnCount();
+            for (int i = 1; i <= count; i++) {
+                if (columnLabel.equalsIgnoreCase(md.getColumnLabel(i))) return true;
+            }
+        } catch (SQLException ignored) {}
+        return false;
+    }
+
+    private static ResultSet capture(int minRows, String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return MemoryResultSet.copyOf(rs, minRows);
+            }
+        }
+    }
+
+    private static Properties loadBaseline(Path file) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    private static void saveBaseline(Path file, String scale, List<Harness.Result> results) throws IOException {
+        Properties baseline = new Properties();
+        for (Harness.Result result : results) {
+            baseline.setProperty(result.name(), String.format("%.1f", result.opsPerSecond()));
+        }
+        try (Writer out = Files.newBufferedWriter(file)) {
+            baseline.store(out, "ops/s at scale " + scale + ", Java " + Runtime.version());
+        }
+    }
+
+    // Prints the change against the baseline and returns how many regressed
+    private static int compare(Properties baseline, List<Harness.Result> results, double threshold) {
+        int regressions = 0;
+        System.out.printf("%nAgainst the baseline (threshold %.0f%%):%n", threshold * 100);
+        for (Harness.Result result : results) {
+            String saved = baseline.getProperty(result.name());
+            if (saved == null) {
+                System.out.printf("  %-48s new%n", result.name());
+                continue;
+            }
+            double before = Double.parseDouble(saved);
+            double change = (result.opsPerSecond() - before) / before;
+            boolean regressed = change < -threshold;
+            if (regressed) regressions++;
+            System.out.printf("  %-48s %+7.1f%%%s%n", result.name(), change * 100, regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(threshold * 100) + "%");
+        }
+        return regressions;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) return args[i + 1];
+        }
+        return defaultValue;
+    }
+}
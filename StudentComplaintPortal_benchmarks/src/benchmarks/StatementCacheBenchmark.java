@@ -0,0 +1,46 @@
+package benchmarks;
+
+import helpers.ComplaintDAO;
+import helpers.DatabaseConfig;
+import helpers.StudentDAO;
+
+import java.util.function.IntConsumer;
+
+// Times the hot DAO calls on a warm pool. Run it twice to see what statement caching buys:
+//   java -cp ... benchmarks.StatementCacheBenchmark [iterations]
+//   java -Dportal.db.statementCache=false -cp ... benchmarks.StatementCacheBenchmark [iterations]
+public class StatementCacheBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        String email = args.length > 1 ? args[1] : "test@student.com";
+
+        StudentDAO students = new StudentDAO();
+        ComplaintDAO complaints = new ComplaintDAO();
+        DatabaseConfig.startup().join();
+
+        System.out.println("Statement cache: " + System.getProperty("portal.db.statementCache", "true")
+                + ", " + iterations + " calls each");
+        run("findStudentByEmail", iterations, i -> students.findStudentByEmail(email));
+        run("isEmailExists", iterations, i -> students.isEmailExists(email));
+        run("getComplaintById", iterations, i -> complaints.getComplaintById(1 + i % 100));
+        run("getStudentDashboardStats", iterations, i -> complaints.getStudentDashboardStats(email));
+        run("getComplaintsPage", iterations, i -> complaints.getComplaintsPage(null, null, 20));
+
+        DatabaseConfig.shutdown();
+    }
+
+    private static void run(String name, int iterations, IntConsumer call) {
+        // Warm-up so the JIT and the connection's statement cache are settled
+        for (int i = 0; i < Math.min(iterations, 500); i++) {
+            call.accept(i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.accept(i);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / iterations;
+        System.out.printf("  %-26s %8.1f µs/call %10.0f calls/s%n", name, micros, 1_000_000 / micros);
+    }
+}
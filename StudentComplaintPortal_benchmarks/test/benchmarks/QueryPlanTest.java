@@ -0,0 +1,164 @@
+package benchmarks;
+
+import helpers.BulkImporter;
+import helpers.ComplaintDAO;
+import helpers.ComplaintExporter;
+import helpers.DatabaseConfig;
+import helpers.StudentDAO;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+// Runs EXPLAIN on every statement ComplaintDAO and StudentDAO execute and fails when one
+// of them scans a whole table or sorts rows that an index should return in order.
+// Inserts are not checked, they have no plan to speak of. Skipped when no database is
+// reachable.
+//
+// Point it at a database with realistic data (-Dportal.db.name, e.g. a benchmark
+// database): on a nearly empty table MySQL may pick a full scan simply because it is
+// cheaper than using an index.
+public class QueryPlanTest {
+
+    // What a statement may do without failing the check. SORT is for ranked full-text
+    // results, which can only be ordered after matching; SCAN is for statements that
+    // read everything on purpose (totals, exports), which must still not filesort. ANY
+    // is for the full list, where scan + filesort measured faster than index order.
+    private enum Allow {
+        NOTHING(false, false), SORT(false, true), SCAN(true, false), ANY(true, true);
+
+        final boolean scan;
+        final boolean sort;
+
+        Allow(boolean scan, boolean sort) {
+            this.scan = scan;
+            this.sort = sort;
+        }
+    }
+
+    private record Check(String name, String sql, Allow allow, Object... args) {}
+
+    private static final String EMAIL = "test@student.com";
+    private static final String STATUS = "Pending";
+    private static final LocalDateTime CURSOR = LocalDateTime.now();
+    private static final String WORDS = "+sample* ";
+    private static final int LIMIT = 100;
+
+    private static Connection conn;
+
+    @BeforeClass
+    public static void connect() {
+        try {
+            conn = DatabaseConfig.getConnection();
+        } catch (SQLException e) {
+            Assume.assumeNoException("No database to EXPLAIN against", e);
+        }
+    }
+
+    @AfterClass
+    public static void disconnect() throws SQLException {
+        if (conn != null) conn.close();
+        DatabaseConfig.shutdown();
+    }
+
+    @Test
+    public void complaintStatementsUseIndexes() throws SQLException {
+        assertPlans(List.of(
+                new Check("complaint summaries by student", ComplaintDAO.SQL_SUMMARIES_BY_STUDENT, Allow.NOTHING, EMAIL),
+                new Check("complaints by student", ComplaintDAO.SQL_BY_STUDENT, Allow.NOTHING, EMAIL),
+                new Check("complaints by status", ComplaintDAO.SQL_BY_STATUS, Allow.NOTHING, STATUS),
+                // Reads the whole table on purpose; screens use the paged queries
+                new Check("all complaints", ComplaintDAO.SQL_ALL, Allow.ANY),
+                new Check("complaint by id", ComplaintDAO.SQL_BY_ID, Allow.NOTHING, 1),
+                new Check("first page", ComplaintDAO.pageSql(false, false), Allow.NOTHING, LIMIT),
+                new Check("first page by status", ComplaintDAO.pageSql(true, false), Allow.NOTHING, STATUS, LIMIT),
+                new Check("next page", ComplaintDAO.pageSql(false, true), Allow.NOTHING, CURSOR, CURSOR, 1, LIMIT),
+                new Check("next page by status", ComplaintDAO.pageSql(true, true), Allow.NOTHING, STATUS, CURSOR, CURSOR, 1, LIMIT),
+                new Check("full-text search", ComplaintDAO.fullTextSql(false), Allow.SORT, WORDS, WORDS, LIMIT, 0),
+                new Check("full-text search by status", ComplaintDAO.fullTextSql(true), Allow.SORT, WORDS, WORDS, STATUS, LIMIT, 0),
+                new Check("summaries by ids", ComplaintDAO.summariesByIdsSql(3), Allow.NOTHING, 1, 2, 3),
+                new Check("search index rows", ComplaintDAO.SQL_SEARCH_ROWS, Allow.SCAN),
+                new Check("search index changed rows", ComplaintDAO.SQL_SEARCH_CHANGED_ROWS, Allow.NOTHING, CURSOR),
+                new Check("search index deletes", ComplaintDAO.SQL_SEARCH_DELETED, Allow.NOTHING, CURSOR),
+                new Check("update complaint", ComplaintDAO.SQL_UPDATE, Allow.NOTHING, "t", "d", "Other", STATUS, 1),
+                new Check("set status", ComplaintDAO.SQL_SET_STATUS, Allow.NOTHING, STATUS, 1),
+                new Check("set feedback", ComplaintDAO.SQL_SET_FEEDBACK, Allow.NOTHING, "f", 1),
+                new Check("delete complaint", ComplaintDAO.SQL_DELETE, Allow.NOTHING, 1),
+                new Check("count complaints", ComplaintDAO.SQL_COUNT_ALL, Allow.SCAN),
+                new Check("count by status", ComplaintDAO.SQL_COUNT_BY_STATUS, Allow.NOTHING, STATUS),
+                new Check("count by student", ComplaintDAO.SQL_COUNT_BY_STUDENT, Allow.NOTHING, EMAIL),
+                new Check("resolved count by student", ComplaintDAO.SQL_COUNT_RESOLVED_BY_STUDENT, Allow.NOTHING, EMAIL),
+                new Check("admin dashboard stats", ComplaintDAO.SQL_DASHBOARD_STATS, Allow.SCAN),
+                new Check("student dashboard stats", ComplaintDAO.SQL_STUDENT_DASHBOARD_STATS, Allow.NOTHING, EMAIL),
+                new Check("changes since", ComplaintDAO.SQL_CHANGES, Allow.NOTHING, CURSOR, LIMIT),
+                new Check("tombstones since", ComplaintDAO.SQL_TOMBSTONES, Allow.NOTHING, CURSOR, LIMIT),
+                new Check("prune tombstones", ComplaintDAO.SQL_PRUNE_TOMBSTONES, Allow.NOTHING, CURSOR.minusDays(7)),
+                new Check("export complaints", ComplaintExporter.SQL_EXPORT, Allow.SCAN)
+        ));
+    }
+
+    @Test
+    public void studentStatementsUseIndexes() throws SQLException {
+        assertPlans(List.of(
+                new Check("student by email", StudentDAO.SQL_BY_EMAIL, Allow.NOTHING, EMAIL),
+                new Check("update student", StudentDAO.SQL_UPDATE, Allow.NOTHING, "n", "s", "d", "m", EMAIL),
+                new Check("email exists", StudentDAO.SQL_EMAIL_EXISTS, Allow.NOTHING, EMAIL),
+                new Check("student id exists", StudentDAO.SQL_STUDENT_ID_EXISTS, Allow.NOTHING, "TEST001"),
+                new Check("email or student id exists", StudentDAO.SQL_IDENTITY_EXISTS, Allow.NOTHING, EMAIL, "TEST001"),
+                new Check("count students", StudentDAO.SQL_COUNT_ALL, Allow.SCAN),
+                new Check("profile thumbnail", StudentDAO.SQL_THUMBNAIL, Allow.NOTHING, "0".repeat(64)),
+                new Check("import email lookup", BulkImporter.inSql("email", 3), Allow.NOTHING, EMAIL, "a@b.com", "c@d.com"),
+                new Check("import student id lookup", BulkImporter.inSql("student_id", 3), Allow.NOTHING, "TEST001", "A", "B")
+        ));
+    }
+
+    // Checks every statement before failing, so one run lists all the bad plans
+    private static void assertPlans(List<Check> checks) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        for (Check check : checks) {
+            List<String> problems = explain(check);
+            if (!problems.isEmpty()) {
+                failures.add(check.name() + ": " + String.join("; ", problems)
+                        + "\n   " + check.sql().strip().replaceAll("\\s+", " "));
+            }
+        }
+        assertTrue(failures.size() + " of " + checks.size() + " statements have a bad plan:\n"
+                + String.join("\n", failures), failures.isEmpty());
+    }
+
+    private static List<String> explain(Check check) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + check.sql())) {
+            for (int i = 0; i < check.args().length; i++) {
+                pstmt.setObject(i + 1, check.args()[i]);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    String extra = rs.getString("Extra");
+                    if (table == null) continue;
+
+                    if ("ALL".equals(type) && !check.allow().scan) {
+                        problems.add("full scan of " + table + " (" + rs.getLong("rows") + " rows)");
+                    }
+                    if (extra != null && extra.contains("Using filesort") && !check.allow().sort) {
+                        problems.add("filesort on " + table + " using " + rs.getString("key"));
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+}
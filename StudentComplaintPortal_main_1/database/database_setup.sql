@@ -10,10 +10,14 @@ CREATE DATABASE IF NOT EXISTS student_complaint_portal
 USE student_complaint_portal;
 
 -- Drop existing tables for clean setup
+DROP TABLE IF EXISTS complaint_tombstones;
 DROP TABLE IF EXISTS complaints;
 DROP TABLE IF EXISTS students;
+DROP TABLE IF EXISTS profile_images;
+-- The app re-applies its migrations (all idempotent) when this table is missing
+DROP TABLE IF EXISTS schema_version;
 
--- Students table with profile picture support
+-- Students table; profile_image is the SHA-256 of a row in profile_images
 CREATE TABLE students (
   id INT AUTO_INCREMENT PRIMARY KEY,
   name VARCHAR(100) NOT NULL,
@@ -22,13 +26,20 @@ CREATE TABLE students (
   mobile VARCHAR(15) NOT NULL,
   email VARCHAR(100) UNIQUE NOT NULL,
   password VARCHAR(255) NOT NULL,
-  profile_picture LONGBLOB NULL,
-  profile_picture_mime VARCHAR(100) NULL,
+  profile_image CHAR(64) NULL,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   INDEX idx_email (email),
   INDEX idx_student_id (student_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Profile pictures keyed by content hash, with the thumbnail the profile screen shows
+CREATE TABLE profile_images (
+  hash CHAR(64) PRIMARY KEY,
+  image MEDIUMBLOB NOT NULL,
+  thumbnail MEDIUMBLOB NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
 -- Complaints table with FIXED status enum
 CREATE TABLE complaints (
   id INT AUTO_INCREMENT PRIMARY KEY,
@@ -41,13 +52,29 @@ CREATE TABLE complaints (
   student_email VARCHAR(100) NOT NULL,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  INDEX idx_student_email (student_email),
-  INDEX idx_status (status),
+  -- Match the list queries: filter, then created_at DESC, id DESC
+  INDEX idx_student_created (student_email, created_at, id),
+  INDEX idx_status_created (status, created_at, id),
+  INDEX idx_created (created_at, id),
+  -- Delta sync (ComplaintDAO.getChangesSince) reads rows changed since a watermark
+  INDEX idx_updated (updated_at, id),
   INDEX idx_category (category),
+  FULLTEXT INDEX ft_complaints_text (title, description, feedback),
   FOREIGN KEY (student_email) REFERENCES students(email)
     ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Deleted complaint ids, so delta sync can drop them from lists that are already loaded
+CREATE TABLE complaint_tombstones (
+  complaint_id INT PRIMARY KEY,
+  deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX idx_deleted (deleted_at)
+) ENGINE=InnoDB;
+
+CREATE TRIGGER complaints_tombstone AFTER DELETE ON complaints FOR EACH ROW
+  INSERT INTO complaint_tombstones (complaint_id) VALUES (OLD.id)
+  ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP;
+
 -- Insert sample students
 INSERT INTO students (name, student_id, department, mobile, email, password) VALUES
 ('Test Student', 'TEST001', 'Computer Science', '1234567890', 'test@student.com', 'test123'),
@@ -1,114 +1,458 @@
 package controllers;
 
+import helpers.AsyncService;
+import helpers.Backend;
+import helpers.ComplaintDAO;
+import helpers.ComplaintExporter;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import models.BatchResult;
+import models.ChangeSet;
 import models.Complaint;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.PageCursor;
 
+import java.io.File;
 import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.UnaryOperator;
 
-public class AdminDashboardController implements Initializable {
+public class AdminDashboardController implements Initializable, Refreshable {
+
+    private static final int PAGE_SIZE = 100;
+
+    // Polling for changes speeds up while complaints are changing and backs off when quiet
+    private static final double SYNC_START_SECONDS = 5;
+    private static final double SYNC_MIN_SECONDS = 2;
+    private static final double SYNC_MAX_SECONDS = 60;
+    private static final int SYNC_LIMIT = 500; // more changes than this and a reload is cheaper
+
+    // Browse order, as the pages come back: newest first
+    private static final Comparator<ComplaintRow> NEWEST_FIRST =
+            Comparator.comparing(ComplaintRow::getCreatedAt).thenComparingInt(ComplaintRow::getId).reversed();
 
     @FXML private Label totalStudentsLabel;
     @FXML private Label totalComplaintsLabel;
     @FXML private Label pendingLabel;
     @FXML private Label ongoingLabel; // displays "In Progress"
     @FXML private Label resolvedLabel;
+    @FXML private TextField searchField;
     @FXML private ComboBox<String> statusFilter;
-    @FXML private TableView<Complaint> complaintsTable;
-    @FXML private TableColumn<Complaint, Integer> idColumn;
-    @FXML private TableColumn<Complaint, String> studentEmailColumn;
-    @FXML private TableColumn<Complaint, String> titleColumn;
-    @FXML private TableColumn<Complaint, String> categoryColumn;
-    @FXML private TableColumn<Complaint, String> statusColumn;
-    @FXML private TableColumn<Complaint, String> feedbackColumn;
-    @FXML private TableColumn<Complaint, String> actionsColumn;
+    @FXML private Label selectionLabel;
+    @FXML private Button bulkStatusButton;
+    @FXML private Button bulkFeedbackButton;
+    @FXML private Button bulkDeleteButton;
+    @FXML private TableView<ComplaintRow> complaintsTable;
+    @FXML private TableColumn<ComplaintRow, Integer> idColumn;
+    @FXML private TableColumn<ComplaintRow, String> studentEmailColumn;
+    @FXML private TableColumn<ComplaintRow, String> titleColumn;
+    @FXML private TableColumn<ComplaintRow, String> categoryColumn;
+    @FXML private TableColumn<ComplaintRow, String> statusColumn;
+    @FXML private TableColumn<ComplaintRow, String> feedbackColumn;
+    @FXML private TableColumn<ComplaintRow, String> actionsColumn;
+    @FXML private Button exportButton;
+    @FXML private Label exportStatusLabel;
+
+    // Loaded rows by complaint id, so a single change can be patched in place
+    private final Map<Integer, ComplaintRow> rowsById = new HashMap<>();
+    private DashboardStats stats;
+
+    // Search waits for a pause in typing instead of querying on every keystroke
+    private final PauseTransition searchDelay = new PauseTransition(Duration.millis(300));
+    private String activeQuery = "";
+
+    private PageCursor nextCursor;
+    private int nextOffset; // search results are ranked, so they page by offset
+    private boolean hasMorePages;
+    private CompletableFuture<Void> pageRequest;
+
+    // What one sync poll returned for a complaint; a delete has no updatedAt
+    private record Seen(LocalDateTime updatedAt, String status) {}
+
+    private final PauseTransition syncDelay = new PauseTransition();
+    private double syncSeconds = SYNC_START_SECONDS;
+    private boolean syncing;
+    private LocalDateTime watermark;
+    // The last poll's changes: the next poll re-reads the overlap window and skips these
+    private Map<Integer, Seen> lastSeen = new HashMap<>();
+    // Deleted from this screen, so the counters were already adjusted
+    private final Set<Integer> deletedHere = new HashSet<>();
+    // Stats loaded together with the watermark may already count the first changes
+    private boolean statsUnverified;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         statusFilter.getItems().clear();
         statusFilter.getItems().addAll("All", "Pending", "In Progress", "Resolved");
-        statusFilter.setValue("All");
 
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         studentEmailColumn.setCellValueFactory(new PropertyValueFactory<>("studentEmail"));
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         categoryColumn.setCellValueFactory(new PropertyValueFactory<>("category"));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-        feedbackColumn.setCellValueFactory(new PropertyValueFactory<>("feedback"));
+        feedbackColumn.setCellValueFactory(new PropertyValueFactory<>("feedbackPreview"));
 
         actionsColumn.setCellValueFactory(cellData -> new SimpleStringProperty("Actions"));
-        actionsColumn.setCellFactory(column -> new TableCell<Complaint, String>() {
+        actionsColumn.setCellFactory(column -> new TableCell<ComplaintRow, String>() {
             private final Button statusButton = new Button("Change Status");
             private final Button feedbackButton = new Button("Feedback");
             private final Button deleteButton = new Button("Delete");
+            private final HBox buttons = new HBox(8, statusButton, feedbackButton, deleteButton);
 
             {
-                statusButton.setOnAction(event -> {
-                    Complaint complaint = getTableView().getItems().get(getIndex());
-                    changeStatus(complaint);
-                });
-
-                feedbackButton.setOnAction(event -> {
-                    Complaint complaint = getTableView().getItems().get(getIndex());
-                    editFeedback(complaint);
-                });
-
-                deleteButton.setOnAction(event -> {
-                    Complaint complaint = getTableView().getItems().get(getIndex());
-                    deleteComplaint(complaint);
-                });
+                statusButton.setOnAction(event -> changeStatus(getTableRow().getItem()));
+                feedbackButton.setOnAction(event -> editFeedback(getTableRow().getItem()));
+                deleteButton.setOnAction(event -> deleteComplaint(getTableRow().getItem()));
             }
 
             @Override
             protected void updateItem(String item, boolean empty) {
                 super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    setGraphic(new javafx.scene.layout.HBox(8, statusButton, feedbackButton, deleteButton));
+                setGraphic(empty ? null : buttons);
+            }
+        });
+
+        searchDelay.setOnFinished(event -> {
+            if (!searchField.getText().trim().equals(activeQuery)) {
+                loadComplaints();
+            }
+        });
+        searchField.textProperty().addListener((obs, oldText, text) -> searchDelay.playFromStart());
+        syncDelay.setOnFinished(event -> syncChanges());
+        searchField.setOnAction(event -> {
+            searchDelay.stop();
+            loadComplaints();
+        });
+
+        // Bulk actions work on the selected rows
+        complaintsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        complaintsTable.getSelectionModel().getSelectedItems().addListener(
+                (ListChangeListener<ComplaintRow>) change -> updateSelection());
+        updateSelection();
+
+        // ComplaintExporter streams straight from MySQL
+        if (!Backend.MYSQL.equals(Backend.getType())) {
+            exportButton.setDisable(true);
+            exportButton.setTooltip(new Tooltip("Export needs the MySQL backend"));
+        }
+
+        // Fetch the next page when the user scrolls to the bottom of the table
+        complaintsTable.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            for (var node : complaintsTable.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                    bar.valueProperty().addListener((o, oldValue, value) -> {
+                        if (value.doubleValue() >= bar.getMax()) {
+                            loadNextPage();
+                        }
+                    });
                 }
             }
         });
+    }
 
-        loadComplaints();
+    @Override
+    public void onShow() {
+        searchField.clear();
+        searchDelay.stop();
+        stopSync();
+        syncing = true;
+
+        // The watermark is taken before the first page, so no change falls between the two
+        AsyncService.run(() -> SceneSwitcher.getChangesSince(null, 0), changes -> {
+            resetSync(changes.watermark());
+            showFirstPage();
+        }, error -> {
+            // Show what can be loaded; with no watermark the first poll takes one and reloads
+            resetSync(null);
+            showFirstPage();
+        });
+    }
+
+    private void showFirstPage() {
+        // Setting the filter fires handleFilter, which loads the first page
+        if ("All".equals(statusFilter.getValue())) {
+            loadComplaints();
+        } else {
+            statusFilter.setValue("All");
+        }
         updateStats();
+        scheduleSync();
+    }
+
+    @Override
+    public void onHide() {
+        stopSync();
     }
 
     private void loadComplaints() {
+        if (pageRequest != null) {
+            pageRequest.cancel(false); // stale page for the previous filter
+            pageRequest = null;
+        }
+        complaintsTable.getItems().clear();
+        rowsById.clear();
+        complaintsTable.scrollTo(0);
+        activeQuery = searchField.getText().trim();
+        nextCursor = null;
+        nextOffset = 0;
+        hasMorePages = true;
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (!hasMorePages || pageRequest != null) return;
+
         String selectedStatus = statusFilter.getValue();
-        List<Complaint> complaints;
+        String status = "All".equals(selectedStatus) ? null : selectedStatus;
+        PageCursor cursor = nextCursor;
 
-        if ("All".equals(selectedStatus)) {
-            complaints = SceneSwitcher.getAllComplaints();
-        } else {
-            complaints = SceneSwitcher.getComplaintsByStatus(selectedStatus);
+        if (complaintsTable.getItems().isEmpty()) {
+            complaintsTable.setPlaceholder(new ProgressIndicator());
+        }
+
+        if (!activeQuery.isEmpty()) {
+            String query = activeQuery;
+            int offset = nextOffset;
+            pageRequest = AsyncService.run(() -> SceneSwitcher.searchComplaints(query, status, offset, PAGE_SIZE), page -> {
+                pageRequest = null;
+                addRows(page.items());
+                complaintsTable.setPlaceholder(new Label("No complaints match \"" + query + "\""));
+                nextOffset = page.nextOffset();
+                hasMorePages = page.hasMore();
+            }, this::pageFailed);
+            return;
+        }
+
+        pageRequest = AsyncService.run(() -> SceneSwitcher.getComplaintsPage(status, cursor, PAGE_SIZE), page -> {
+            pageRequest = null;
+            addRows(page.items());
+            complaintsTable.setPlaceholder(new Label("No complaints found"));
+            nextCursor = page.next();
+            hasMorePages = page.hasMore();
+        }, this::pageFailed);
+    }
+
+    // The cursor is left where it was, so scrolling to the bottom again (or Retry on an
+    // empty table) asks for the same page.
+    private void pageFailed(Throwable error) {
+        pageRequest = null;
+        Button retry = new Button("Retry");
+        retry.setOnAction(e -> loadNextPage());
+        HBox failed = new HBox(8, new Label("Could not load complaints"), retry);
+        failed.setAlignment(Pos.CENTER);
+        complaintsTable.setPlaceholder(failed);
+    }
+
+    private void addRows(List<ComplaintSummary> summaries) {
+        List<ComplaintRow> added = new ArrayList<>(summaries.size());
+        for (ComplaintSummary summary : summaries) {
+            ComplaintRow existing = rowsById.get(summary.getId());
+            if (existing != null) {
+                existing.update(summary);
+            } else {
+                ComplaintRow row = new ComplaintRow(summary);
+                rowsById.put(row.getId(), row);
+                added.add(row);
+            }
+        }
+        complaintsTable.getItems().addAll(added);
+    }
+
+    private void removeRow(ComplaintRow row) {
+        rowsById.remove(row.getId());
+        complaintsTable.getItems().remove(row);
+    }
+
+    // ---- delta sync ----
+
+    private void stopSync() {
+        syncing = false;
+        syncDelay.stop();
+    }
+
+    private void resetSync(LocalDateTime watermark) {
+        this.watermark = watermark;
+        lastSeen = new HashMap<>();
+        deletedHere.clear();
+        statsUnverified = true;
+        syncSeconds = SYNC_START_SECONDS;
+    }
+
+    private void scheduleSync() {
+        if (!syncing) return;
+        syncDelay.setDuration(Duration.seconds(syncSeconds));
+        syncDelay.playFromStart();
+    }
+
+    private void syncChanges() {
+        if (!syncing) return;
+        LocalDateTime since = watermark;
+        AsyncService.run(() -> SceneSwitcher.getChangesSince(since, SYNC_LIMIT), changes -> {
+            if (!syncing) return;
+            if (since == null || !changes.complete()) {
+                // No usable watermark yet, or too much changed to merge
+                resetSync(changes.watermark());
+                loadComplaints();
+                updateStats();
+            } else {
+                boolean changed;
+                try {
+                    changed = mergeChanges(since, changes);
+                } catch (RuntimeException e) {
+                    // The rows may be half merged; the next poll reloads them
+                    watermark = null;
+                    throw e;
+                }
+                watermark = changes.watermark();
+                syncSeconds = changed ? Math.max(SYNC_MIN_SECONDS, syncSeconds / 2)
+                        : Math.min(SYNC_MAX_SECONDS, syncSeconds * 1.5);
+            }
+            scheduleSync();
+        }, error -> {
+            // Keep polling, less often while the failures last
+            syncSeconds = Math.min(SYNC_MAX_SECONDS, syncSeconds * 2);
+            scheduleSync();
+        });
+    }
+
+    // Applies one poll to the loaded rows and the counters. Returns whether anything
+    // had changed that this screen had not already seen.
+    private boolean mergeChanges(LocalDateTime since, ChangeSet changes) {
+        Map<Integer, Seen> seen = new HashMap<>();
+        DashboardStats updated = stats;
+        boolean statsUnknown = stats == null || statsUnverified;
+        boolean changed = false;
+
+        for (int id : changes.deleted()) {
+            Seen before = lastSeen.get(id);
+            seen.put(id, new Seen(null, null));
+            if (before != null && before.updatedAt() == null) continue;
+            changed = true;
+
+            ComplaintRow row = rowsById.get(id);
+            String status = row != null ? row.getStatus() : before != null ? before.status() : null;
+            if (row != null) removeRow(row);
+            if (deletedHere.remove(id)) continue;
+            if (status != null && updated != null) {
+                updated = updated.withComplaintRemoved(status);
+            } else {
+                statsUnknown = true;
+            }
+        }
+
+        for (ComplaintSummary summary : changes.changed()) {
+            int id = summary.getId();
+            Seen before = lastSeen.get(id);
+            seen.put(id, new Seen(summary.getUpdatedAt(), summary.getStatus()));
+            if (before != null && summary.getUpdatedAt().equals(before.updatedAt())) continue;
+            changed = true;
+
+            // The status the counters hold for this complaint: the loaded row's (with any
+            // local edit) if it predates this change, else what the last poll said
+            ComplaintRow row = rowsById.get(id);
+            String oldStatus = row != null && row.getUpdatedAt() != null && row.getUpdatedAt().isBefore(summary.getUpdatedAt())
+                    ? row.getStatus() : before != null ? before.status() : null;
+            if (updated != null && oldStatus != null) {
+                updated = updated.withStatusChange(oldStatus, summary.getStatus());
+            } else if (updated != null && before == null && row == null && !summary.getCreatedAt().isBefore(since)) {
+                updated = updated.withComplaintAdded(summary.getStatus());
+            } else {
+                statsUnknown = true;
+            }
+
+            if (row != null) {
+                if (matchesFilter(summary.getStatus())) {
+                    row.update(summary);
+                } else {
+                    removeRow(row);
+                }
+            } else if (activeQuery.isEmpty() && matchesFilter(summary.getStatus())) {
+                insertRow(new ComplaintRow(summary));
+            }
+        }
+
+        lastSeen = seen;
+        if (changed) {
+            if (statsUnknown) {
+                statsUnverified = false;
+                updateStats();
+            } else {
+                showStats(updated);
+            }
         }
+        return changed;
+    }
+
+    // Places a row that has come into the filter among the loaded rows. A row older than
+    // every loaded one is left for the page that will bring it.
+    private void insertRow(ComplaintRow row) {
+        List<ComplaintRow> items = complaintsTable.getItems();
+        if (hasMorePages && (items.isEmpty() || NEWEST_FIRST.compare(row, items.get(items.size() - 1)) > 0)) return;
 
-        complaintsTable.getItems().setAll(complaints);
+        rowsById.put(row.getId(), row);
+        if (!complaintsTable.getSortOrder().isEmpty()) {
+            items.add(row);
+            complaintsTable.sort(); // the admin has sorted by a column
+            return;
+        }
+        int index = Collections.binarySearch(items, row, NEWEST_FIRST);
+        items.add(index < 0 ? -index - 1 : index, row);
+    }
+
+    private boolean matchesFilter(String status) {
+        String selected = statusFilter.getValue();
+        return "All".equals(selected) || selected.equals(status);
     }
 
     private void updateStats() {
-        int totalStudents = SceneSwitcher.getTotalStudentCount();
-        int total = SceneSwitcher.getTotalComplaintCount();
-        int pending = SceneSwitcher.getComplaintCountByStatus("Pending");
-        int inProgress = SceneSwitcher.getComplaintCountByStatus("In Progress");
-        int resolved = SceneSwitcher.getComplaintCountByStatus("Resolved");
+        AsyncService.run(SceneSwitcher::getDashboardStats, this::showStats);
+    }
 
-        totalStudentsLabel.setText("Students: " + totalStudents);
-        totalComplaintsLabel.setText("Total: " + total);
-        pendingLabel.setText("Pending: " + pending);
-        ongoingLabel.setText("In Progress: " + inProgress);
-        resolvedLabel.setText("Resolved: " + resolved);
+    // Adjusts the counters locally; falls back to a query if they were never loaded
+    private void applyStatsDelta(UnaryOperator<DashboardStats> delta) {
+        if (stats == null) {
+            updateStats();
+        } else {
+            showStats(delta.apply(stats));
+        }
     }
 
-    private void changeStatus(Complaint complaint) {
+    private void showStats(DashboardStats stats) {
+        this.stats = stats;
+        totalStudentsLabel.setText("Students: " + stats.totalStudents());
+        totalComplaintsLabel.setText("Total: " + stats.totalComplaints());
+        pendingLabel.setText("Pending: " + stats.pending());
+        ongoingLabel.setText("In Progress: " + stats.inProgress());
+        resolvedLabel.setText("Resolved: " + stats.resolved());
+    }
+
+    private void changeStatus(ComplaintRow complaint) {
         ChoiceDialog<String> dialog = new ChoiceDialog<>(complaint.getStatus(), "Pending", "In Progress", "Resolved");
         dialog.setTitle("Change Status");
         dialog.setHeaderText("Change status for Complaint #" + complaint.getId());
@@ -116,18 +460,42 @@ public class AdminDashboardController implements Initializable {
 
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(status -> {
-            boolean ok = SceneSwitcher.setComplaintStatus(complaint.getId(), status);
-            if (ok) {
-                loadComplaints();
+            SceneSwitcher.setBusy(true);
+            String oldStatus = complaint.getStatus();
+            AsyncService.run(() -> SceneSwitcher.setComplaintStatus(complaint.getId(), status), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    lastSeen.remove(complaint.getId());
+                    if (matchesFilter(status)) {
+                        complaint.setStatus(status);
+                    } else {
+                        removeRow(complaint);
+                    }
+                    applyStatsDelta(s -> s.withStatusChange(oldStatus, status));
+                    showInfo("Success", "Status updated to " + status + ".");
+                } else {
+                    showError("Failed to update status.");
+                }
+            });
+        });
+    }
+
+    private void editFeedback(ComplaintRow row) {
+        // The table only holds a preview of the feedback, so load the full complaint first
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.getComplaintById(row.getId()), complaint -> {
+            SceneSwitcher.setBusy(false);
+            if (complaint == null) {
+                showError("This complaint no longer exists.");
+                removeRow(row);
                 updateStats();
-                showInfo("Success", "Status updated to " + status + ".");
             } else {
-                showError("Failed to update status.");
+                showFeedbackDialog(row, complaint);
             }
         });
     }
 
-    private void editFeedback(Complaint complaint) {
+    private void showFeedbackDialog(ComplaintRow row, Complaint complaint) {
         TextArea textArea = new TextArea();
         textArea.setWrapText(true);
         textArea.setPrefRowCount(8);
@@ -142,17 +510,21 @@ public class AdminDashboardController implements Initializable {
         Optional<ButtonType> result = dialog.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             String newFeedback = textArea.getText().trim();
-            boolean ok = SceneSwitcher.setComplaintFeedback(complaint.getId(), newFeedback.isEmpty() ? null : newFeedback);
-            if (ok) {
-                loadComplaints();
-                showInfo("Success", "Feedback updated.");
-            } else {
-                showError("Failed to update feedback.");
-            }
+            String stored = newFeedback.isEmpty() ? null : newFeedback;
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.setComplaintFeedback(complaint.getId(), stored), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    row.setFeedbackPreview(ComplaintDAO.previewOf(stored));
+                    showInfo("Success", "Feedback updated.");
+                } else {
+                    showError("Failed to update feedback.");
+                }
+            });
         }
     }
 
-    private void deleteComplaint(Complaint complaint) {
+    private void deleteComplaint(ComplaintRow complaint) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirm Delete");
         alert.setHeaderText(null);
@@ -160,13 +532,142 @@ public class AdminDashboardController implements Initializable {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (SceneSwitcher.deleteComplaint(complaint.getId())) {
-                loadComplaints();
-                updateStats();
-                showInfo("Success", "Complaint deleted successfully.");
-            } else {
-                showError("Failed to delete complaint.");
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.deleteComplaint(complaint.getId()), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    removeRow(complaint);
+                    deletedHere.add(complaint.getId());
+                    applyStatsDelta(s -> s.withComplaintRemoved(complaint.getStatus()));
+                    showInfo("Success", "Complaint deleted successfully.");
+                } else {
+                    showError("Failed to delete complaint.");
+                }
+            });
+        }
+    }
+
+    private void updateSelection() {
+        int count = complaintsTable.getSelectionModel().getSelectedItems().size();
+        selectionLabel.setText(count + " selected");
+        bulkStatusButton.setDisable(count == 0);
+        bulkFeedbackButton.setDisable(count == 0);
+        bulkDeleteButton.setDisable(count == 0);
+    }
+
+    private List<ComplaintRow> selectedRows() {
+        return new ArrayList<>(complaintsTable.getSelectionModel().getSelectedItems());
+    }
+
+    private static List<Integer> idsOf(List<ComplaintRow> rows) {
+        List<Integer> ids = new ArrayList<>(rows.size());
+        for (ComplaintRow row : rows) {
+            ids.add(row.getId());
+        }
+        return ids;
+    }
+
+    @FXML
+    private void handleBulkStatus() {
+        List<ComplaintRow> rows = selectedRows();
+        if (rows.isEmpty()) return;
+
+        ChoiceDialog<String> dialog = new ChoiceDialog<>("Resolved", "Pending", "In Progress", "Resolved");
+        dialog.setTitle("Change Status");
+        dialog.setHeaderText("Change status for " + rows.size() + " complaints");
+        dialog.setContentText("Select new status:");
+
+        dialog.showAndWait().ifPresent(status -> {
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.setComplaintStatusBatch(idsOf(rows), status), result -> {
+                SceneSwitcher.setBusy(false);
+                DashboardStats updated = stats;
+                for (int id : result.succeeded()) {
+                    ComplaintRow row = rowsById.get(id);
+                    if (row == null) continue;
+                    lastSeen.remove(id);
+                    if (updated != null) updated = updated.withStatusChange(row.getStatus(), status);
+                    if (matchesFilter(status)) {
+                        row.setStatus(status);
+                    } else {
+                        removeRow(row);
+                    }
+                }
+                if (updated != null) showStats(updated);
+                showBatchResult("Status updated to " + status, result);
+            });
+        });
+    }
+
+    @FXML
+    private void handleBulkFeedback() {
+        List<ComplaintRow> rows = selectedRows();
+        if (rows.isEmpty()) return;
+
+        TextArea textArea = new TextArea();
+        textArea.setWrapText(true);
+        textArea.setPrefRowCount(8);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Add/Edit Feedback");
+        dialog.setHeaderText("Feedback for " + rows.size() + " complaints (replaces existing feedback)");
+        dialog.getDialogPane().setContent(textArea);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        Optional<ButtonType> choice = dialog.showAndWait();
+        if (choice.isEmpty() || choice.get() != ButtonType.OK) return;
+
+        String text = textArea.getText().trim();
+        String stored = text.isEmpty() ? null : text;
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.setComplaintFeedbackBatch(idsOf(rows), stored), result -> {
+            SceneSwitcher.setBusy(false);
+            String preview = ComplaintDAO.previewOf(stored);
+            for (int id : result.succeeded()) {
+                ComplaintRow row = rowsById.get(id);
+                if (row != null) row.setFeedbackPreview(preview);
             }
+            showBatchResult("Feedback updated", result);
+        });
+    }
+
+    @FXML
+    private void handleBulkDelete() {
+        List<ComplaintRow> rows = selectedRows();
+        if (rows.isEmpty()) return;
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirm Delete");
+        alert.setHeaderText(null);
+        alert.setContentText("Are you sure you want to delete " + rows.size() + " complaints?");
+
+        Optional<ButtonType> choice = alert.showAndWait();
+        if (choice.isEmpty() || choice.get() != ButtonType.OK) return;
+
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.deleteComplaintsBatch(idsOf(rows)), result -> {
+            SceneSwitcher.setBusy(false);
+            DashboardStats updated = stats;
+            for (int id : result.succeeded()) {
+                ComplaintRow row = rowsById.get(id);
+                if (row == null) continue;
+                if (updated != null) updated = updated.withComplaintRemoved(row.getStatus());
+                removeRow(row);
+                deletedHere.add(id);
+            }
+            if (updated != null) showStats(updated);
+            showBatchResult("Complaints deleted", result);
+        });
+    }
+
+    private void showBatchResult(String action, BatchResult result) {
+        if (result.allSucceeded()) {
+            showInfo("Success", action + " for " + result.succeeded().size() + " complaints.");
+        } else if (result.error() != null) {
+            showError("No complaints were changed: " + result.error());
+        } else {
+            showError(action + " for " + result.succeeded().size() + " of " + result.total()
+                    + " complaints.\nNot found: " + result.failed());
         }
     }
 
@@ -175,6 +676,46 @@ public class AdminDashboardController implements Initializable {
         loadComplaints();
     }
 
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Complaints");
+        chooser.setInitialFileName("complaints.csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("CSV (gzip)", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("JSON lines", "*.jsonl"),
+                new FileChooser.ExtensionFilter("JSON lines (gzip)", "*.jsonl.gz"));
+        File file = chooser.showSaveDialog(complaintsTable.getScene().getWindow());
+        if (file == null) return;
+
+        // Not tied to the scene: the export keeps going if the admin navigates away
+        long total = stats != null ? stats.totalComplaints() : 0;
+        exportButton.setDisable(true);
+        exportStatusLabel.setText("Exporting...");
+        AsyncService.supply(() -> {
+            try {
+                return ComplaintExporter.forFile(file.toPath()).export(file.toPath(), rows ->
+                        Platform.runLater(() -> exportStatusLabel.setText(total > 0
+                                ? "Exported " + rows + " of " + total
+                                : "Exported " + rows)));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }).whenCompleteAsync((result, error) -> {
+            exportButton.setDisable(false);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                exportStatusLabel.setText("Export failed");
+                showError("Export failed: " + cause.getMessage());
+            } else {
+                exportStatusLabel.setText("Exported " + result.rows() + " complaints");
+                showInfo("Export Complete", result.rows() + " complaints written to " + result.file()
+                        + String.format(" (%.1f MB in %.1f s)", result.bytes() / 1_048_576.0, result.millis() / 1000.0));
+            }
+        }, AsyncService.FX);
+    }
+
     @FXML
     private void handleLogout() {
         SceneSwitcher.switchScene("LoginScene.fxml", "Login");
@@ -0,0 +1,58 @@
+package controllers;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import models.ComplaintSummary;
+
+import java.time.LocalDateTime;
+
+// Table row for the admin dashboard. The editable columns are JavaFX properties, so
+// changing one repaints just that cell instead of re-setting the table items.
+public final class ComplaintRow {
+    private final int id;
+    private final LocalDateTime createdAt;
+    private LocalDateTime updatedAt; // of the version last loaded, not of local edits
+    private final ReadOnlyStringWrapper studentEmail = new ReadOnlyStringWrapper();
+    private final StringProperty title = new SimpleStringProperty();
+    private final StringProperty category = new SimpleStringProperty();
+    private final StringProperty status = new SimpleStringProperty();
+    private final StringProperty feedbackPreview = new SimpleStringProperty();
+
+    public ComplaintRow(ComplaintSummary summary) {
+        this.id = summary.getId();
+        this.createdAt = summary.getCreatedAt();
+        this.studentEmail.set(summary.getStudentEmail());
+        update(summary);
+    }
+
+    public void update(ComplaintSummary summary) {
+        updatedAt = summary.getUpdatedAt();
+        title.set(summary.getTitle());
+        category.set(summary.getCategory());
+        status.set(summary.getStatus());
+        feedbackPreview.set(summary.getFeedbackPreview());
+    }
+
+    public int getId() { return id; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public String getStudentEmail() { return studentEmail.get(); }
+    public ReadOnlyStringProperty studentEmailProperty() { return studentEmail.getReadOnlyProperty(); }
+
+    public String getTitle() { return title.get(); }
+    public StringProperty titleProperty() { return title; }
+
+    public String getCategory() { return category.get(); }
+    public StringProperty categoryProperty() { return category; }
+
+    public String getStatus() { return status.get(); }
+    public void setStatus(String value) { status.set(value); }
+    public StringProperty statusProperty() { return status; }
+
+    public String getFeedbackPreview() { return feedbackPreview.get(); }
+    public void setFeedbackPreview(String value) { feedbackPreview.set(value); }
+    public StringProperty feedbackPreviewProperty() { return feedbackPreview; }
+}
@@ -6,12 +6,14 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import helpers.AsyncService;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import models.Complaint;
 import java.net.URL;
 import java.util.ResourceBundle;
 
-public class EditComplaintController implements Initializable {
+public class EditComplaintController implements Initializable, Refreshable {
     
     @FXML private TextField titleField;
     @FXML private ComboBox<String> categoryComboBox;
@@ -22,7 +24,10 @@ public class EditComplaintController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         categoryComboBox.getItems().addAll("Academic", "Facility", "Admin", "Other");
-        
+    }
+
+    @Override
+    public void onShow() {
         currentComplaint = SceneSwitcher.getCurrentComplaint();
         if (currentComplaint != null) {
             titleField.setText(currentComplaint.getTitle());
@@ -47,12 +52,17 @@ public class EditComplaintController implements Initializable {
             currentComplaint.setCategory(category);
             currentComplaint.setDescription(description);
             
-            if (SceneSwitcher.updateComplaint(currentComplaint)) {
-                showAlert("Success", "Complaint updated successfully!");
-                SceneSwitcher.switchScene("MyComplaints.fxml", "My Complaints");
-            } else {
-                showAlert("Error", "Failed to update complaint.");
-            }
+            Complaint complaint = currentComplaint;
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.updateComplaint(complaint), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    showAlert("Success", "Complaint updated successfully!");
+                    SceneSwitcher.switchScene("MyComplaints.fxml", "My Complaints");
+                } else {
+                    showAlert("Error", "Failed to update complaint.");
+                }
+            });
         }
     }
     
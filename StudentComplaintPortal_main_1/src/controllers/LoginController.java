@@ -4,15 +4,27 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import helpers.AsyncService;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import models.Student;
 import javafx.scene.layout.Region;
 
-public class LoginController {
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class LoginController implements Refreshable {
+    private static final Logger LOG = Logger.getLogger(LoginController.class.getName());
 
     @FXML private TextField emailField;
     @FXML private PasswordField passwordField;
 
+    @Override
+    public void onShow() {
+        // The scene is reused, so don't leave the last user's password behind
+        passwordField.clear();
+    }
+
     private void showMessage(Alert.AlertType type, String title, String header, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -28,7 +40,7 @@ public class LoginController {
         String email = emailField.getText() != null ? emailField.getText().trim().toLowerCase() : "";
         String password = passwordField.getText() != null ? passwordField.getText() : "";
 
-        System.out.println("🔄 Login attempt for: " + email);
+        LOG.log(Level.FINE, "Login attempt email={0}", email);
 
         if (email.isEmpty() || password.isEmpty()) {
             showMessage(Alert.AlertType.ERROR, "Login Error", "Missing credentials", "Please enter both email and password.");
@@ -37,46 +49,46 @@ public class LoginController {
 
         // Check admin login first
         if (SceneSwitcher.isAdminLogin(email, password)) {
-            System.out.println("✅ Admin login successful");
+            LOG.info("Admin login successful");
             SceneSwitcher.switchScene("AdminDashboard.fxml", "Admin Dashboard");
             return;
         }
 
         // Check student login
-        if (SceneSwitcher.isValidLogin(email, password)) {
-            Student student = SceneSwitcher.findStudentByEmail(email);
-            SceneSwitcher.setCurrentStudent(student);
-            System.out.println("✅ Student login successful: " + email);
-            SceneSwitcher.switchScene("StudentDashboard.fxml", "Student Dashboard");
-        } else {
-            System.err.println("❌ Login failed for: " + email);
-            showMessage(Alert.AlertType.ERROR, "Login Error", "Invalid credentials", "Email or password is incorrect.");
-        }
+        SceneSwitcher.setBusy(true);
+        SceneSwitcher.authenticate(email, password).whenCompleteAsync((Student student, Throwable error) -> {
+            SceneSwitcher.setBusy(false);
+            if (error != null) {
+                LOG.log(Level.WARNING, "Login check failed: {0}", error.toString());
+                showMessage(Alert.AlertType.ERROR, "Login Error", "Please try again", "The server is busy. Please try again in a moment.");
+            } else if (student != null) {
+                SceneSwitcher.setCurrentStudent(student);
+                LOG.log(Level.INFO, "Student login successful email={0}", email);
+                SceneSwitcher.switchScene("StudentDashboard.fxml", "Student Dashboard");
+            } else {
+                LOG.log(Level.INFO, "Login failed email={0}", email);
+                showMessage(Alert.AlertType.ERROR, "Login Error", "Invalid credentials", "Email or password is incorrect.");
+            }
+        }, AsyncService.FX);
     }
 
     @FXML
     private void handleSignUp() {
-        System.out.println("🔄 Attempting to switch to sign-up scene...");
-        
         try {
             // Debug: Check if FXML file exists
             var resource = getClass().getResource("/scenes/SignUpScene.fxml");
             if (resource == null) {
-                System.err.println("❌ SignUpScene.fxml not found in /scenes/ directory");
+                LOG.severe("SignUpScene.fxml not found in /scenes/ directory");
                 showMessage(Alert.AlertType.ERROR, "File Not Found", "SignUp scene missing", 
                     "SignUpScene.fxml file is missing from the scenes folder.");
                 return;
             }
             
-            System.out.println("✅ SignUpScene.fxml found at: " + resource.toString());
-            
             // Attempt scene switch
             SceneSwitcher.switchScene("SignUpScene.fxml", "Sign Up");
-            System.out.println("✅ Successfully switched to sign-up scene");
             
         } catch (Exception e) {
-            System.err.println("❌ Error switching to sign-up scene: " + e.getMessage());
-            e.printStackTrace();
+            LOG.log(Level.SEVERE, "Error switching to sign-up scene", e);
             
             // Show detailed error to user
             showMessage(Alert.AlertType.ERROR, "Navigation Error", 
@@ -1,5 +1,7 @@
 package controllers;
 
+import helpers.AsyncService;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
@@ -7,22 +9,22 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import models.Complaint;
+import models.ComplaintSummary;
 import models.Student;
 
 import java.net.URL;
-import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
-public class MyComplaintsController implements Initializable {
+public class MyComplaintsController implements Initializable, Refreshable {
 
-    @FXML private TableView<Complaint> complaintsTable;
-    @FXML private TableColumn<Complaint, Integer> idColumn;
-    @FXML private TableColumn<Complaint, String> titleColumn;
-    @FXML private TableColumn<Complaint, String> categoryColumn;
-    @FXML private TableColumn<Complaint, String> statusColumn;
-    @FXML private TableColumn<Complaint, String> feedbackColumn; // new
-    @FXML private TableColumn<Complaint, String> actionsColumn;
+    @FXML private TableView<ComplaintSummary> complaintsTable;
+    @FXML private TableColumn<ComplaintSummary, Integer> idColumn;
+    @FXML private TableColumn<ComplaintSummary, String> titleColumn;
+    @FXML private TableColumn<ComplaintSummary, String> categoryColumn;
+    @FXML private TableColumn<ComplaintSummary, String> statusColumn;
+    @FXML private TableColumn<ComplaintSummary, String> feedbackColumn; // new
+    @FXML private TableColumn<ComplaintSummary, String> actionsColumn;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -30,21 +32,21 @@ public class MyComplaintsController implements Initializable {
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         categoryColumn.setCellValueFactory(new PropertyValueFactory<>("category"));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-        feedbackColumn.setCellValueFactory(new PropertyValueFactory<>("feedback"));
+        feedbackColumn.setCellValueFactory(new PropertyValueFactory<>("feedbackPreview"));
 
         actionsColumn.setCellValueFactory(cellData -> new SimpleStringProperty("Actions"));
-        actionsColumn.setCellFactory(column -> new TableCell<Complaint, String>() {
+        actionsColumn.setCellFactory(column -> new TableCell<ComplaintSummary, String>() {
             private final Button editButton = new Button("Edit");
             private final Button deleteButton = new Button("Delete");
 
             {
                 editButton.setOnAction(event -> {
-                    Complaint complaint = getTableView().getItems().get(getIndex());
+                    ComplaintSummary complaint = getTableView().getItems().get(getIndex());
                     editComplaint(complaint);
                 });
 
                 deleteButton.setOnAction(event -> {
-                    Complaint complaint = getTableView().getItems().get(getIndex());
+                    ComplaintSummary complaint = getTableView().getItems().get(getIndex());
                     deleteComplaint(complaint);
                 });
             }
@@ -59,7 +61,10 @@ public class MyComplaintsController implements Initializable {
                 }
             }
         });
+    }
 
+    @Override
+    public void onShow() {
         loadComplaints();
     }
 
@@ -67,17 +72,31 @@ public class MyComplaintsController implements Initializable {
         Student currentStudent = SceneSwitcher.getCurrentStudent();
         if (currentStudent != null) {
             complaintsTable.getItems().clear();
-            List<Complaint> complaints = SceneSwitcher.getComplaintsByStudentEmail(currentStudent.getEmail());
-            complaintsTable.getItems().addAll(complaints);
+            complaintsTable.setPlaceholder(new ProgressIndicator());
+            String email = currentStudent.getEmail();
+            AsyncService.run(() -> SceneSwitcher.getComplaintSummariesByStudentEmail(email), complaints -> {
+                complaintsTable.getItems().setAll(complaints);
+                complaintsTable.setPlaceholder(new Label("You have not submitted any complaints yet"));
+            });
         }
     }
 
-    private void editComplaint(Complaint complaint) {
-        SceneSwitcher.setCurrentComplaint(complaint);
-        SceneSwitcher.switchScene("EditComplaint.fxml", "Edit Complaint");
+    private void editComplaint(ComplaintSummary summary) {
+        // The list only has summaries; the edit form needs the full description
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.getComplaintById(summary.getId()), (Complaint complaint) -> {
+            SceneSwitcher.setBusy(false);
+            if (complaint == null) {
+                showAlert("Error", "This complaint no longer exists.");
+                loadComplaints();
+                return;
+            }
+            SceneSwitcher.setCurrentComplaint(complaint);
+            SceneSwitcher.switchScene("EditComplaint.fxml", "Edit Complaint");
+        });
     }
 
-    private void deleteComplaint(Complaint complaint) {
+    private void deleteComplaint(ComplaintSummary complaint) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirm Delete");
         alert.setHeaderText(null);
@@ -85,12 +104,16 @@ public class MyComplaintsController implements Initializable {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (SceneSwitcher.deleteComplaint(complaint.getId())) {
-                loadComplaints();
-                showAlert("Success", "Complaint deleted successfully.");
-            } else {
-                showAlert("Error", "Failed to delete complaint.");
-            }
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.deleteComplaint(complaint.getId()), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    complaintsTable.getItems().remove(complaint);
+                    showAlert("Success", "Complaint deleted successfully.");
+                } else {
+                    showAlert("Error", "Failed to delete complaint.");
+                }
+            });
         }
     }
 
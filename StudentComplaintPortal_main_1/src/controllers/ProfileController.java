@@ -1,17 +1,23 @@
 package controllers;
 
+import helpers.AsyncService;
+import helpers.ProfileImageStore;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.stage.FileChooser;
 import models.Student;
 
-import java.net.URL;
-import java.util.ResourceBundle;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
 
-public class ProfileController implements Initializable {
+public class ProfileController implements Refreshable {
 
     @FXML private TextField nameField;
     @FXML private TextField studentIdField;
@@ -22,11 +28,18 @@ public class ProfileController implements Initializable {
     @FXML private Button saveButton;
     @FXML private Button cancelButton;
     @FXML private Button backButton;
+    @FXML private ImageView profileImageView;
+    @FXML private Button photoButton;
 
     private boolean isEditing = false;
+    private CompletableFuture<Void> imageRequest;
 
     @Override
-    public void initialize(URL location, ResourceBundle resources) {
+    public void onShow() {
+        handleCancel();
+    }
+
+    private void showStudent() {
         Student currentStudent = SceneSwitcher.getCurrentStudent();
         if (currentStudent != null) {
             nameField.setText(currentStudent.getName());
@@ -34,11 +47,51 @@ public class ProfileController implements Initializable {
             departmentField.setText(currentStudent.getDepartment());
             mobileField.setText(currentStudent.getMobile());
             emailField.setText(currentStudent.getEmail());
+            showProfileImage(currentStudent.getProfileImage());
         }
 
         setFieldsEditable(false);
     }
 
+    // Only the thumbnail is read, and only when this screen is shown; it is fetched
+    // and decoded off the FX thread.
+    private void showProfileImage(String hash) {
+        if (imageRequest != null) imageRequest.cancel(false);
+        profileImageView.setImage(null);
+        if (hash == null) return;
+
+        imageRequest = AsyncService.run(() -> {
+            byte[] thumbnail = SceneSwitcher.getProfileThumbnail(hash);
+            return thumbnail != null ? new Image(new ByteArrayInputStream(thumbnail)) : null;
+        }, image -> {
+            if (image != null) profileImageView.setImage(image);
+        });
+    }
+
+    @FXML
+    private void handleChangePhoto() {
+        Student currentStudent = SceneSwitcher.getCurrentStudent();
+        if (currentStudent == null) return;
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Choose Profile Photo");
+        chooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Images", "*.png", "*.jpg", "*.jpeg", "*.gif", "*.bmp"));
+        File file = chooser.showOpenDialog(photoButton.getScene().getWindow());
+        if (file == null) return;
+
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.setProfileImage(currentStudent, file.toPath()), hash -> {
+            SceneSwitcher.setBusy(false);
+            if (hash != null) {
+                showProfileImage(hash);
+            } else {
+                showAlert("Error", "Failed to update photo. Use a PNG, JPEG, GIF or BMP image up to "
+                        + ProfileImageStore.MAX_IMAGE_BYTES / (1024 * 1024) + " MB.");
+            }
+        });
+    }
+
     @FXML
     private void handleEdit() {
         isEditing = true;
@@ -58,11 +111,15 @@ public class ProfileController implements Initializable {
             currentStudent.setDepartment(departmentField.getText().trim());
             currentStudent.setMobile(mobileField.getText().trim());
 
-            if (SceneSwitcher.updateStudent(currentStudent)) {
-                showAlert("Success", "Profile updated successfully!");
-            } else {
-                showAlert("Error", "Failed to update profile.");
-            }
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.updateStudent(currentStudent), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    showAlert("Success", "Profile updated successfully!");
+                } else {
+                    showAlert("Error", "Failed to update profile.");
+                }
+            });
         }
 
         isEditing = false;
@@ -75,7 +132,7 @@ public class ProfileController implements Initializable {
 
     @FXML
     private void handleCancel() {
-        initialize(null, null);
+        showStudent();
         isEditing = false;
         setFieldsEditable(false);
         editButton.setVisible(true);
@@ -1,19 +1,26 @@
 package controllers;
 
+import helpers.AsyncService;
+import helpers.InputValidator;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import models.IdentityCheck;
 import models.Student;
 
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-public class SignUpController implements Initializable {
+public class SignUpController implements Initializable, Refreshable {
+    private static final Logger LOG = Logger.getLogger(SignUpController.class.getName());
 
     @FXML private TextField nameField;
     @FXML private TextField studentIdField;
@@ -25,14 +32,14 @@ public class SignUpController implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        System.out.println("✅ SignUpController initialized successfully");
-        System.out.println("📍 Location: " + (location != null ? location.toString() : "null"));
-        
         // Test all field references
-        System.out.println("🔍 Field check:");
-        System.out.println("  nameField: " + (nameField != null ? "✅" : "❌"));
-        System.out.println("  emailField: " + (emailField != null ? "✅" : "❌"));
-        System.out.println("  passwordField: " + (passwordField != null ? "✅" : "❌"));
+        LOG.log(Level.FINE, "SignUpController initialized location={0} nameField={1} emailField={2} passwordField={3}",
+                new Object[]{location, nameField != null, emailField != null, passwordField != null});
+    }
+
+    @Override
+    public void onShow() {
+        clearForm();
     }
 
     private void showError(String header, String details) {
@@ -53,18 +60,8 @@ public class SignUpController implements Initializable {
         alert.showAndWait();
     }
 
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-    }
-
-    private boolean isDigits(String value) {
-        return value.matches("^\\d+$");
-    }
-
     @FXML
     private void handleRegister() {
-        System.out.println("🔄 Registration process started");
-        
         String name = nameField.getText().trim();
         String studentId = studentIdField.getText().trim();
         String department = departmentField.getText().trim();
@@ -73,79 +70,61 @@ public class SignUpController implements Initializable {
         String password = passwordField.getText();
         String confirmPassword = confirmPasswordField.getText();
 
-        System.out.println("📝 Registration data:");
-        System.out.println("  Name: " + name);
-        System.out.println("  Student ID: " + studentId);
-        System.out.println("  Email: " + email);
-
-        List<String> issues = new ArrayList<>();
-
-        // Validation
-        if (name.isEmpty()) issues.add("Full Name is required.");
-        if (studentId.isEmpty()) issues.add("Student ID is required.");
-        if (department.isEmpty()) issues.add("Department is required.");
-
-        if (mobile.isEmpty()) {
-            issues.add("Mobile Number is required.");
-        } else {
-            if (!isDigits(mobile)) issues.add("Mobile Number must contain digits only.");
-            if (mobile.length() < 7 || mobile.length() > 15) issues.add("Mobile Number must be 7 to 15 digits long.");
-        }
-
-        if (email.isEmpty()) {
-            issues.add("Email Address is required.");
-        } else if (!isValidEmail(email)) {
-            issues.add("Email Address format is invalid.");
-        }
-
-        if (password.isEmpty()) {
-            issues.add("Password is required.");
-        } else if (password.length() < 6) {
-            issues.add("Password must be at least 6 characters long.");
-        }
-
-        if (!password.equals(confirmPassword)) {
-            issues.add("Passwords do not match.");
-        }
+        LOG.log(Level.FINE, "Registration started name={0} studentId={1} email={2}", new Object[]{name, studentId, email});
+
+        List<String> issues = InputValidator.validateStudent(name, studentId, department, mobile,
+                email, password, confirmPassword);
 
         // Check for existing email/student ID
-        if (SceneSwitcher.isEmailExists(email)) {
-            issues.add("Email already exists. Use a different email.");
-        }
-
-        if (SceneSwitcher.isStudentIdExists(studentId)) {
-            issues.add("Student ID already exists. Use a different ID.");
-        }
-
-        if (!issues.isEmpty()) {
-            System.err.println("❌ Validation failed: " + issues.size() + " issues");
-            showError("Please fix the following:", "• " + String.join("\n• ", issues));
-            return;
-        }
-
-        // Create student
-        Student newStudent = new Student(name, studentId, department, mobile, email, password);
-
-        System.out.println("💾 Attempting to save student to database...");
-        
-        if (SceneSwitcher.addStudent(newStudent)) {
-            System.out.println("✅ Student registered successfully: " + email);
-            showInfo("Success", "Account created successfully! You can now login.");
-            
-            // Clear form
-            clearForm();
-            
-            // Switch back to login
-            SceneSwitcher.switchScene("LoginScene.fxml", "Login");
-        } else {
-            System.err.println("❌ Registration failed for: " + email);
-            showError("Registration failed", "We couldn't create your account. Please try again.");
-        }
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> {
+            IdentityCheck identity = SceneSwitcher.checkIdentity(email, studentId);
+            List<String> taken = new ArrayList<>();
+            if (identity.emailTaken()) {
+                taken.add("Email already exists. Use a different email.");
+            }
+            if (identity.studentIdTaken()) {
+                taken.add("Student ID already exists. Use a different ID.");
+            }
+            return taken;
+        }, taken -> {
+            SceneSwitcher.setBusy(false);
+            issues.addAll(taken);
+
+            if (!issues.isEmpty()) {
+                LOG.log(Level.FINE, "Registration validation failed issues={0}", issues.size());
+                showError("Please fix the following:", "• " + String.join("\n• ", issues));
+                return;
+            }
+
+            // Create student
+            Student newStudent = new Student(name, studentId, department, mobile, email, password);
+            saveStudent(newStudent);
+        });
+    }
+
+    private void saveStudent(Student newStudent) {
+        SceneSwitcher.setBusy(true);
+        AsyncService.run(() -> SceneSwitcher.addStudent(newStudent), ok -> {
+            SceneSwitcher.setBusy(false);
+            if (ok) {
+                LOG.log(Level.INFO, "Student registered email={0}", newStudent.getEmail());
+                showInfo("Success", "Account created successfully! You can now login.");
+
+                // Clear form
+                clearForm();
+
+                // Switch back to login
+                SceneSwitcher.switchScene("LoginScene.fxml", "Login");
+            } else {
+                LOG.log(Level.WARNING, "Registration failed email={0}", newStudent.getEmail());
+                showError("Registration failed", "We couldn't create your account. Please try again.");
+            }
+        });
     }
 
     @FXML
     private void handleBack() {
-        System.out.println("🔄 Returning to login scene...");
         clearForm();
         SceneSwitcher.switchScene("LoginScene.fxml", "Login");
     }
@@ -1,30 +1,33 @@
 package controllers;
 
 import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
+import helpers.AsyncService;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
+import models.DashboardStats;
 import models.Student;
-import java.net.URL;
-import java.util.ResourceBundle;
 
-public class StudentDashboardController implements Initializable {
+public class StudentDashboardController implements Refreshable {
     
     @FXML private Label welcomeLabel;
     @FXML private Label totalComplaintsLabel;
     @FXML private Label resolvedComplaintsLabel;
     
     @Override
-    public void initialize(URL location, ResourceBundle resources) {
+    public void onShow() {
         Student currentStudent = SceneSwitcher.getCurrentStudent();
         if (currentStudent != null) {
             welcomeLabel.setText("Welcome, " + currentStudent.getName() + "!");
             
-            int totalComplaints = SceneSwitcher.getComplaintCountByStudentEmail(currentStudent.getEmail());
-            int resolvedComplaints = SceneSwitcher.getResolvedComplaintCountByStudentEmail(currentStudent.getEmail());
-            
-            totalComplaintsLabel.setText("Total Complaints: " + totalComplaints);
-            resolvedComplaintsLabel.setText("Resolved Complaints: " + resolvedComplaints);
+            totalComplaintsLabel.setText("Total Complaints: …");
+            resolvedComplaintsLabel.setText("Resolved Complaints: …");
+
+            String email = currentStudent.getEmail();
+            AsyncService.run(() -> SceneSwitcher.getStudentDashboardStats(email), (DashboardStats stats) -> {
+                totalComplaintsLabel.setText("Total Complaints: " + stats.totalComplaints());
+                resolvedComplaintsLabel.setText("Resolved Complaints: " + stats.resolved());
+            });
         }
     }
     
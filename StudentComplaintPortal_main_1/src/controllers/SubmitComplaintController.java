@@ -6,13 +6,15 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import helpers.AsyncService;
+import helpers.Refreshable;
 import helpers.SceneSwitcher;
 import models.Complaint;
 import models.Student;
 import java.net.URL;
 import java.util.ResourceBundle;
 
-public class SubmitComplaintController implements Initializable {
+public class SubmitComplaintController implements Initializable, Refreshable {
     
     @FXML private TextField titleField;
     @FXML private ComboBox<String> categoryComboBox;
@@ -22,6 +24,13 @@ public class SubmitComplaintController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         categoryComboBox.getItems().addAll("Academic", "Facility", "Admin", "Other");
     }
+
+    @Override
+    public void onShow() {
+        titleField.clear();
+        categoryComboBox.setValue(null);
+        descriptionArea.clear();
+    }
     
     @FXML
     private void handleSubmit() {
@@ -37,10 +46,16 @@ public class SubmitComplaintController implements Initializable {
         Student currentStudent = SceneSwitcher.getCurrentStudent();
         if (currentStudent != null) {
             Complaint complaint = new Complaint(title, description, category, currentStudent.getEmail());
-            SceneSwitcher.addComplaint(complaint);
-            
-            showAlert("Success", "Complaint submitted successfully!");
-            SceneSwitcher.switchScene("StudentDashboard.fxml", "Student Dashboard");
+            SceneSwitcher.setBusy(true);
+            AsyncService.run(() -> SceneSwitcher.addComplaint(complaint), ok -> {
+                SceneSwitcher.setBusy(false);
+                if (ok) {
+                    showAlert("Success", "Complaint submitted successfully!");
+                    SceneSwitcher.switchScene("StudentDashboard.fxml", "Student Dashboard");
+                } else {
+                    showAlert("Error", "Failed to submit complaint.");
+                }
+            });
         }
     }
     
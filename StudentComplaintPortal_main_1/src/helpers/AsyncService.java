@@ -0,0 +1,114 @@
+package helpers;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runs DAO work off the JavaFX application thread. Each task gets a virtual thread;
+// the number of queries actually running at once is bounded by the connection pool.
+public class AsyncService {
+    private static final Logger LOG = Logger.getLogger(AsyncService.class.getName());
+
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public static final Executor FX = Platform::runLater;
+
+    // UI callbacks that have not run yet; cancelled when the user leaves the scene.
+    private static final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) return; // cancelled before it started
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    // Fire-and-forget background work that does not touch the UI
+    public static void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    // Runs task in the background and hands the result to onResult on the FX thread.
+    // If the task or onResult throws, the input is re-enabled and the error shown.
+    public static <T> CompletableFuture<Void> run(Supplier<T> task, Consumer<T> onResult) {
+        return run(task, onResult, AsyncService::showFailure);
+    }
+
+    // As above, with onError called on the FX thread instead when the task or onResult
+    // throws. Cancelling the returned future (or leaving the scene) drops both callbacks;
+    // work that is already running is allowed to finish so writes are never cut in half.
+    public static <T> CompletableFuture<Void> run(Supplier<T> task, Consumer<T> onResult, Consumer<Throwable> onError) {
+        CompletableFuture<T> source = supply(task);
+        CompletableFuture<Void> ui = source.handleAsync((result, error) -> {
+            Throwable cause = error;
+            if (cause == null) {
+                try {
+                    onResult.accept(result);
+                    return null;
+                } catch (RuntimeException e) {
+                    cause = e;
+                }
+            }
+            cause = unwrap(cause);
+            if (!(cause instanceof CancellationException)) {
+                LOG.log(Level.SEVERE, "Background task failed", cause);
+                onError.accept(cause);
+            }
+            return null;
+        }, FX);
+        pending.add(ui);
+        ui.whenComplete((ignored, error) -> {
+            pending.remove(ui);
+            if (ui.isCancelled()) {
+                source.cancel(false);
+            } else if (error != null) {
+                LOG.log(Level.SEVERE, "Error handler failed", unwrap(error));
+            }
+        });
+        return ui;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Default onError: whatever was waiting on the task must not stay disabled
+    private static void showFailure(Throwable error) {
+        SceneSwitcher.setBusy(false);
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Operation Failed");
+        alert.setHeaderText(null);
+        alert.setContentText("Something went wrong: " + (error.getMessage() != null ? error.getMessage() : error));
+        alert.show();
+    }
+
+    public static void cancelPending() {
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    public static void shutdown() {
+        cancelPending();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,108 @@
+package helpers;
+
+import models.Student;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Chooses where students and complaints are stored, once per JVM:
+//
+//   -Dportal.backend=mysql      the MySQL database from DatabaseConfig, behind the caching DAOs (default)
+//   -Dportal.backend=embedded   an EmbeddedStore in -Dportal.embedded.dir
+//                               (default ~/.student-complaint-portal/embedded), no server needed
+//   -Dportal.backend=remote     a main.PortalServer at -Dportal.server.url (default
+//                               http://localhost:8080), with -Dportal.server.token if it has one
+//
+// The embedded store keeps every row in memory and answers from its own indexes, and a
+// remote client shares the server's caches, so neither is wrapped in the caches here.
+public final class Backend {
+    private static final Logger LOG = Logger.getLogger(Backend.class.getName());
+
+    public static final String MYSQL = "mysql";
+    public static final String EMBEDDED = "embedded";
+    public static final String REMOTE = "remote";
+
+    private static final String TYPE = System.getProperty("portal.backend", MYSQL).trim().toLowerCase();
+
+    private static final ComplaintRepository complaints;
+    private static final StudentRepository students;
+    private static final EmbeddedStore embedded;
+    private static final RemoteRepository remote;
+
+    static {
+        switch (TYPE) {
+            case MYSQL -> {
+                embedded = null;
+                remote = null;
+                complaints = new CachingComplaintDAO(2000, 200, 60_000);
+                students = new CachingStudentDAO(1000, 30_000, 5_000);
+            }
+            case EMBEDDED -> {
+                embedded = new EmbeddedStore(Path.of(System.getProperty("portal.embedded.dir",
+                        System.getProperty("user.home") + "/.student-complaint-portal/embedded")));
+                remote = null;
+                complaints = embedded;
+                students = embedded;
+            }
+            case REMOTE -> {
+                embedded = null;
+                remote = new RemoteRepository(URI.create(System.getProperty("portal.server.url", "http://localhost:8080")),
+                        System.getProperty("portal.server.token"));
+                complaints = remote;
+                students = remote;
+            }
+            default -> throw new IllegalStateException("Unknown portal.backend " + TYPE
+                    + ", expected " + MYSQL + ", " + EMBEDDED + " or " + REMOTE);
+        }
+    }
+
+    private Backend() {}
+
+    public static String getType() {
+        return TYPE;
+    }
+
+    public static ComplaintRepository complaints() {
+        return complaints;
+    }
+
+    public static StudentRepository students() {
+        return students;
+    }
+
+    // Completes with the student, or null if the email or password is wrong. A remote
+    // client sends the password to the server, which holds the hashes and checks it.
+    public static CompletableFuture<Student> authenticate(String email, String password) {
+        if (remote != null) return AsyncService.supply(() -> remote.authenticate(email, password));
+        return CredentialService.authenticate(students, email, password);
+    }
+
+    // Connects and migrates, replays the embedded journal or checks that the server
+    // answers, on a background thread. Repository calls made before it finishes wait for it.
+    public static CompletableFuture<Void> startup() {
+        LOG.log(Level.INFO, "Storage backend {0}", TYPE);
+        if (embedded != null) return embedded.open();
+        if (remote != null) return remote.open();
+        return DatabaseConfig.startup().thenApply(version -> null);
+    }
+
+    // One line for status output: pool usage, or where the data lives
+    public static String describe() {
+        if (embedded != null) return "embedded " + embedded.getDirectory();
+        if (remote != null) return "remote " + remote.getBaseUri();
+        return DatabaseConfig.getPoolStats().toString();
+    }
+
+    public static void shutdown() {
+        if (embedded != null) {
+            embedded.close();
+        } else if (remote != null) {
+            remote.close();
+        } else {
+            DatabaseConfig.shutdown();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongConsumer;
+
+// Imports students or complaints from a CSV file with a header row. The file is read
+// in chunks: while one chunk is written to the database the next one is already
+// being parsed and validated, in parallel, with the same rules as the sign-up form.
+// Each chunk is one batched insert (rewritten into multi-row INSERTs by the driver)
+// and one commit. Student passwords are hashed just before the insert, only for rows
+// that passed every check. Rows that fail validation or the insert go to a reject file with
+// their line number and the reason, and the rest of the file carries on.
+//
+// MySQL only: it writes through DatabaseConfig, whatever -Dportal.backend says. The
+// embedded and remote backends have no bulk path.
+public class BulkImporter {
+
+    public enum Kind { STUDENTS, COMPLAINTS }
+
+    public record ImportResult(long read, long imported, long rejected, long millis, Path rejectFile) {
+
+        public double rowsPerSecond() {
+            return millis > 0 ? read * 1000.0 / millis : read;
+        }
+    }
+
+    public static final List<String> STUDENT_COLUMNS =
+            List.of("name", "student_id", "department", "mobile", "email", "password");
+    // status, feedback and created_at are optional, for historical complaints
+    public static final List<String> COMPLAINT_COLUMNS =
+            List.of("title", "description", "category", "student_email", "status", "feedback", "created_at");
+    private static final int REQUIRED_COMPLAINT_COLUMNS = 4;
+
+    public static final String SQL_INSERT_COMPLAINT = "INSERT INTO complaints "
+            + "(title, description, category, student_email, status, feedback, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP))";
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    // One CSV record: values are in the order of STUDENT_COLUMNS or COMPLAINT_COLUMNS,
+    // null where an optional column is missing or empty
+    private record Row(long line, List<String> raw, String[] values, List<String> issues) {}
+
+    private final Kind kind;
+    private final List<String> columns;
+    private final PasswordHasher hasher = new PasswordHasher(CredentialService.ITERATIONS);
+
+    // Keys already accepted from earlier chunks, so the file cannot duplicate itself
+    private final Set<String> seenEmails = new HashSet<>();
+    private final Set<String> seenStudentIds = new HashSet<>();
+    // Student emails already confirmed to exist, for complaint imports
+    private final Set<String> knownStudents = new HashSet<>();
+
+    public BulkImporter(Kind kind) {
+        this.kind = kind;
+        this.columns = kind == Kind.STUDENTS ? STUDENT_COLUMNS : COMPLAINT_COLUMNS;
+    }
+
+    public static String inSql(String column, int count) {
+        String placeholders = String.join(", ", Collections.nCopies(count, "?"));
+        return "SELECT " + column + " FROM students WHERE " + column + " IN (" + placeholders + ")";
+    }
+
+    // progress receives the number of rows read after every chunk.
+    public ImportResult importFile(Path csv, Path rejectFile, LongConsumer progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long read = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(csv, StandardCharsets.UTF_8));
+             Writer rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8)) {
+
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IOException("The file is empty");
+            }
+            int[] positions = mapColumns(header);
+            writeRejectHeader(rejects, header);
+
+            try (Connection conn = DatabaseConfig.getConnection("BulkImporter.importFile");
+                 PreparedStatement insert = conn.prepareStatement(kind == Kind.STUDENTS
+                         ? StudentDAO.SQL_INSERT : SQL_INSERT_COMPLAINT)) {
+
+                conn.setAutoCommit(false);
+                try {
+                    CompletableFuture<List<Row>> next = readChunk(reader, header.size(), positions);
+                    while (true) {
+                        List<Row> chunk = join(next);
+                        if (chunk.isEmpty()) break;
+                        // Parse and validate the next chunk while this one is written
+                        next = readChunk(reader, header.size(), positions);
+
+                        read += chunk.size();
+                        checkDuplicates(conn, chunk);
+
+                        List<Row> valid = new ArrayList<>(chunk.size());
+                        for (Row row : chunk) {
+                            if (row.issues().isEmpty()) {
+                                valid.add(row);
+                            } else {
+                                reject(rejects, row);
+                                rejected++;
+                            }
+                        }
+
+                        int written = write(conn, insert, valid);
+                        imported += written;
+                        for (Row row : valid) {
+                            if (!row.issues().isEmpty()) {
+                                reject(rejects, row);
+                                rejected++;
+                            }
+                        }
+                        progress.accept(read);
+                    }
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportResult(read, imported, rejected, millis, rejectFile.toAbsolutePath());
+    }
+
+    private int[] mapColumns(List<String> header) throws IOException {
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            names.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+
+        int required = kind == Kind.STUDENTS ? columns.size() : REQUIRED_COMPLAINT_COLUMNS;
+        int[] positions = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            positions[i] = names.indexOf(columns.get(i));
+            if (positions[i] < 0 && i < required) {
+                throw new IOException("Missing column: " + columns.get(i) + " (expected " + columns + ")");
+            }
+        }
+        return positions;
+    }
+
+    // Reads up to CHUNK_SIZE records on a background thread and validates them in parallel.
+    // Only one chunk is read at a time, so the reader is never used by two threads at once.
+    private CompletableFuture<List<Row>> readChunk(CsvReader reader, int width, int[] positions) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            try {
+                List<String> record;
+                while (chunk.size() < CHUNK_SIZE && (record = reader.next()) != null) {
+                    chunk.add(new Row(reader.getRecordLine(), record, new String[columns.size()], new ArrayList<>()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunk.parallelStream().forEach(row -> validate(row, width, positions));
+            return chunk;
+        });
+    }
+
+    private void validate(Row row, int width, int[] positions) {
+        if (row.raw().size() != width) {
+            row.issues().add("Expected " + width + " fields, found " + row.raw().size() + ".");
+            return;
+        }
+
+        String[] values = row.values();
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0) continue;
+            String value = row.raw().get(positions[i]);
+            // Passwords are taken as typed, like the sign-up form does
+            values[i] = kind == Kind.STUDENTS && i == 5 ? value : value.trim();
+        }
+
+        if (kind == Kind.STUDENTS) {
+            values[4] = values[4].toLowerCase(Locale.ROOT);
+            row.issues().addAll(InputValidator.validateStudent(values[0], values[1], values[2], values[3],
+                    values[4], values[5], values[5]));
+        } else {
+            values[3] = values[3].toLowerCase(Locale.ROOT);
+            for (int i = REQUIRED_COMPLAINT_COLUMNS; i < values.length; i++) {
+                if (values[i] != null && values[i].isEmpty()) values[i] = null;
+            }
+            row.issues().addAll(InputValidator.validateComplaint(values[0], values[1], values[2], values[3], values[4]));
+            if (values[6] != null) {
+                try {
+                    LocalDateTime.parse(values[6].replace(' ', 'T'));
+                } catch (DateTimeParseException e) {
+                    row.issues().add("created_at must look like 2024-01-31T09:30:00.");
+                }
+            }
+        }
+    }
+
+    // Rejects rows whose unique keys repeat earlier rows of the file or already exist,
+    // and complaints whose student does not exist. One lookup per key per chunk.
+    private void checkDuplicates(Connection conn, List<Row> chunk) throws SQLException {
+        if (kind == Kind.STUDENTS) {
+            Set<String> emails = new HashSet<>();
+            Set<String> studentIds = new HashSet<>();
+            for (Row row : chunk) {
+                if (!row.issues().isEmpty()) continue;
+                emails.add(row.values()[4]);
+                studentIds.add(row.values()[1]);
+            }
+            Set<String> takenEmails = existing(conn, "email", emails);
+            Set<String> takenIds = existing(conn, "student_id", studentIds);
+
+            for (Row row : chunk) {
+                if (!row.issues().isEmpty()) continue;
+                String email = row.values()[4];
+                String studentId = row.values()[1];
+                if (takenEmails.contains(email)) row.issues().add("Email already exists.");
+                else if (!seenEmails.add(email)) row.issues().add("Email appears earlier in the file.");
+                if (takenIds.contains(studentId)) row.issues().add("Student ID already exists.");
+                else if (!seenStudentIds.add(studentId)) row.issues().add("Student ID appears earlier in the file.");
+            }
+        } else {
+            Set<String> unknown = new HashSet<>();
+            for (Row row : chunk) {
+                if (row.issues().isEmpty() && !knownStudents.contains(row.values()[3])) {
+                    unknown.add(row.values()[3]);
+                }
+            }
+            knownStudents.addAll(existing(conn, "email", unknown));
+
+            for (Row row : chunk) {
+                if (row.issues().isEmpty() && !knownStudents.contains(row.values()[3])) {
+                    row.issues().add("No student with email " + row.values()[3] + ".");
+                }
+            }
+        }
+    }
+
+    private static Set<String> existing(Connection conn, String column, Collection<String> keys) throws SQLException {
+        Set<String> found = new HashSet<>();
+        if (keys.isEmpty()) return found;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(inSql(column, keys.size()))) {
+            int i = 1;
+            for (String key : keys) {
+                pstmt.setString(i++, key);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    // The column collation is case-insensitive; keys are compared lower-cased
+                    found.add(column.equals("email") ? rs.getString(1).toLowerCase(Locale.ROOT) : rs.getString(1));
+                }
+            }
+        }
+        conn.commit(); // end the read-only transaction so it does not hold a snapshot open
+        return found;
+    }
+
+    // Inserts the chunk in one batch and one commit. If the batch fails (a row that
+    // slipped past validation, or a concurrent sign-up took a key), it is rolled back
+    // and the rows are retried one by one so only the bad ones are rejected.
+    private int write(Connection conn, PreparedStatement insert, List<Row> rows) throws SQLException {
+        if (rows.isEmpty()) return 0;
+
+        if (kind == Kind.STUDENTS) {
+            // Hashing dominates a student import, so it is spread over every core. Values
+            // that are already hashes (e.g. moved from another portal) are kept as they are.
+            rows.parallelStream().forEach(row -> {
+                if (!PasswordHasher.isHash(row.values()[5])) {
+                    row.values()[5] = hasher.hash(row.values()[5]);
+                }
+            });
+        }
+
+        try {
+            for (Row row : rows) {
+                bind(insert, row.values());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            conn.commit();
+            return rows.size();
+        } catch (SQLException e) {
+            conn.rollback();
+            insert.clearBatch();
+        }
+
+        int written = 0;
+        for (Row row : rows) {
+            try {
+                bind(insert, row.values());
+                insert.executeUpdate();
+                conn.commit();
+                written++;
+            } catch (SQLException e) {
+                conn.rollback();
+                row.issues().add("Insert failed: " + e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private void bind(PreparedStatement pstmt, String[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (kind == Kind.COMPLAINTS && i == 4 && values[i] == null) {
+                pstmt.setString(i + 1, "Pending");
+            } else if (kind == Kind.COMPLAINTS && i == 6 && values[i] != null) {
+                pstmt.setTimestamp(i + 1, Timestamp.valueOf(LocalDateTime.parse(values[i].replace(' ', 'T'))));
+            } else {
+                pstmt.setString(i + 1, values[i]);
+            }
+        }
+    }
+
+    private static void writeRejectHeader(Writer out, List<String> header) throws IOException {
+        for (String name : header) {
+            ComplaintExporter.writeCsvField(out, name);
+            out.write(',');
+        }
+        out.write("line,reason\r\n");
+    }
+
+    private static void reject(Writer out, Row row) throws IOException {
+        for (String value : row.raw()) {
+            ComplaintExporter.writeCsvField(out, value);
+            out.write(',');
+        }
+        out.write(Long.toString(row.line()));
+        out.write(',');
+        ComplaintExporter.writeCsvField(out, String.join(" ", row.issues()));
+        out.write("\r\n");
+    }
+
+    private static List<Row> join(CompletableFuture<List<Row>> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package helpers;
+
+import models.BatchResult;
+import models.ChangeSet;
+import models.Complaint;
+import models.ComplaintSummary;
+import models.DashboardStats;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Write-through cache in front of ComplaintDAO. Full complaints are cached by id and
+// each student's complaint list by email. Writes go to the database first and, when
+// they succeed, patch the cached entries in place instead of dropping them.
+// Entries also expire after a while so changes made from other machines show up.
+public class CachingComplaintDAO extends ComplaintDAO {
+
+    public record CacheStats(long hits, long misses, long evictions, int complaints, int studentLists) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : hits / (double) lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.1f%% evictions=%d complaints=%d studentLists=%d",
+                    hits, misses, hitRate() * 100, evictions, complaints, studentLists);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    private final long ttlMillis;
+    private final Map<Integer, Entry<Complaint>> byId;
+    private final Map<String, Entry<List<ComplaintSummary>>> byStudent;
+
+    // Loads in flight, by key. A write removes the token for what it touches, so a load
+    // that read the row before the write committed does not cache it afterwards.
+    // Guarded by this, like everything below
+    private final Map<Integer, Object> loadingIds = new HashMap<>();
+    private final Map<String, Object> loadingLists = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachingComplaintDAO(int maxComplaints, int maxStudents, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.byId = lru(maxComplaints);
+        this.byStudent = lru(maxStudents);
+    }
+
+    private <K, V> Map<K, V> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static String key(String studentEmail) {
+        return studentEmail.toLowerCase().trim();
+    }
+
+    private <V> V lookup(Map<?, Entry<V>> map, Object key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+            map.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    private static List<ComplaintSummary> copyOf(List<ComplaintSummary> list) {
+        List<ComplaintSummary> copy = new ArrayList<>(list.size());
+        for (ComplaintSummary s : list) {
+            copy.add(new ComplaintSummary(s));
+        }
+        return copy;
+    }
+
+    private static ComplaintSummary summaryOf(Complaint c) {
+        ComplaintSummary s = new ComplaintSummary();
+        s.setId(c.getId());
+        s.setTitle(c.getTitle());
+        s.setCategory(c.getCategory());
+        s.setStatus(c.getStatus());
+        s.setStudentEmail(c.getStudentEmail());
+        s.setFeedbackPreview(previewOf(c.getFeedback()));
+        s.setCreatedAt(c.getCreatedAt());
+        s.setUpdatedAt(LocalDateTime.now());
+        return s;
+    }
+
+    // Called with the lock held after a complaint was written. Which student list holds
+    // the id is not known here, so every list load in flight is dropped.
+    private void invalidateLoads(int id) {
+        loadingIds.remove(id);
+        loadingLists.clear();
+    }
+
+    // Applies a change to every cached copy of one complaint.
+    private synchronized void patch(int id, Consumer<Complaint> complaintChange, Consumer<ComplaintSummary> summaryChange) {
+        invalidateLoads(id);
+        Entry<Complaint> cached = byId.get(id);
+        if (cached != null) {
+            complaintChange.accept(cached.value);
+        }
+        for (Entry<List<ComplaintSummary>> list : byStudent.values()) {
+            for (ComplaintSummary s : list.value) {
+                if (s.getId() == id) {
+                    summaryChange.accept(s);
+                    s.setUpdatedAt(LocalDateTime.now());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Complaint getComplaintById(int id) {
+        Object token = new Object();
+        synchronized (this) {
+            Complaint cached = lookup(byId, id);
+            if (cached != null) return new Complaint(cached);
+            loadingIds.put(id, token);
+        }
+
+        Complaint loaded = super.getComplaintById(id);
+        synchronized (this) {
+            if (loadingIds.remove(id, token) && loaded != null) {
+                byId.put(id, new Entry<>(new Complaint(loaded)));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail) {
+        String key = key(studentEmail);
+        Object token = new Object();
+        synchronized (this) {
+            List<ComplaintSummary> cached = lookup(byStudent, key);
+            if (cached != null) return copyOf(cached);
+            loadingLists.put(key, token);
+        }
+
+        List<ComplaintSummary> loaded = super.getComplaintSummariesByStudentEmail(studentEmail);
+        synchronized (this) {
+            if (loadingLists.remove(key, token)) {
+                byStudent.put(key, new Entry<>(copyOf(loaded)));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public DashboardStats getStudentDashboardStats(String studentEmail) {
+        synchronized (this) {
+            List<ComplaintSummary> cached = lookup(byStudent, key(studentEmail));
+            if (cached != null) {
+                int pending = 0, inProgress = 0, resolved = 0;
+                for (ComplaintSummary s : cached) {
+                    switch (s.getStatus() == null ? "" : s.getStatus()) {
+                        case "Pending" -> pending++;
+                        case "In Progress" -> inProgress++;
+                        case "Resolved" -> resolved++;
+                        default -> {}
+                    }
+                }
+                return new DashboardStats(1, cached.size(), pending, inProgress, resolved);
+            }
+        }
+        return super.getStudentDashboardStats(studentEmail);
+    }
+
+    @Override
+    public boolean insertComplaint(Complaint complaint) {
+        if (!super.insertComplaint(complaint)) return false;
+
+        Complaint stored = new Complaint(complaint);
+        stored.setStatus("Pending");
+        stored.setStudentEmail(key(complaint.getStudentEmail()));
+        if (stored.getCreatedAt() == null) {
+            stored.setCreatedAt(LocalDateTime.now());
+        }
+        synchronized (this) {
+            loadingLists.remove(stored.getStudentEmail());
+            byId.put(stored.getId(), new Entry<>(stored));
+            Entry<List<ComplaintSummary>> list = byStudent.get(stored.getStudentEmail());
+            if (list != null) {
+                list.value.add(0, summaryOf(stored)); // lists are newest first
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateComplaint(Complaint complaint) {
+        if (!super.updateComplaint(complaint)) return false;
+
+        patch(complaint.getId(), c -> {
+            c.setTitle(complaint.getTitle());
+            c.setDescription(complaint.getDescription());
+            c.setCategory(complaint.getCategory());
+            c.setStatus(complaint.getStatus());
+        }, s -> {
+            s.setTitle(complaint.getTitle());
+            s.setCategory(complaint.getCategory());
+            s.setStatus(complaint.getStatus());
+        });
+        return true;
+    }
+
+    @Override
+    public boolean setComplaintStatus(int id, String status) {
+        if (!super.setComplaintStatus(id, status)) return false;
+
+        String trimmed = status.trim();
+        patch(id, c -> c.setStatus(trimmed), s -> s.setStatus(trimmed));
+        return true;
+    }
+
+    @Override
+    public boolean setComplaintFeedback(int id, String feedback) {
+        if (!super.setComplaintFeedback(id, feedback)) return false;
+
+        String stored = feedback != null && !feedback.isBlank() ? feedback : null;
+        patch(id, c -> c.setFeedback(stored), s -> s.setFeedbackPreview(previewOf(stored)));
+        return true;
+    }
+
+    @Override
+    public boolean deleteComplaint(int complaintId) {
+        if (!super.deleteComplaint(complaintId)) return false;
+
+        synchronized (this) {
+            invalidateLoads(complaintId);
+            byId.remove(complaintId);
+            for (Entry<List<ComplaintSummary>> list : byStudent.values()) {
+                list.value.removeIf(s -> s.getId() == complaintId);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public BatchResult setComplaintStatusBatch(List<Integer> ids, String status) {
+        BatchResult result = super.setComplaintStatusBatch(ids, status);
+        if (result.succeeded().isEmpty()) return result;
+
+        String trimmed = status.trim();
+        for (int id : result.succeeded()) {
+            patch(id, c -> c.setStatus(trimmed), s -> s.setStatus(trimmed));
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult setComplaintFeedbackBatch(List<Integer> ids, String feedback) {
+        BatchResult result = super.setComplaintFeedbackBatch(ids, feedback);
+        String stored = feedback != null && !feedback.isBlank() ? feedback : null;
+        String preview = previewOf(stored);
+        for (int id : result.succeeded()) {
+            patch(id, c -> c.setFeedback(stored), s -> s.setFeedbackPreview(preview));
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteComplaintsBatch(List<Integer> ids) {
+        BatchResult result = super.deleteComplaintsBatch(ids);
+        if (!result.succeeded().isEmpty()) {
+            Set<Integer> deleted = new HashSet<>(result.succeeded());
+            synchronized (this) {
+                for (int id : deleted) invalidateLoads(id);
+                byId.keySet().removeAll(deleted);
+                for (Entry<List<ComplaintSummary>> list : byStudent.values()) {
+                    list.value.removeIf(s -> deleted.contains(s.getId()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Changes made elsewhere: drop what they touch instead of waiting for the TTL
+    @Override
+    public ChangeSet getChangesSince(LocalDateTime since, int limit) {
+        ChangeSet changes = super.getChangesSince(since, limit);
+        if (!changes.complete()) {
+            clear();
+        } else if (!changes.isEmpty()) {
+            Set<Integer> deleted = new HashSet<>(changes.deleted());
+            synchronized (this) {
+                for (ComplaintSummary s : changes.changed()) {
+                    invalidateLoads(s.getId());
+                    byId.remove(s.getId());
+                    byStudent.remove(key(s.getStudentEmail()));
+                }
+                for (int id : deleted) invalidateLoads(id);
+                byId.keySet().removeAll(deleted);
+                for (Entry<List<ComplaintSummary>> list : byStudent.values()) {
+                    list.value.removeIf(s -> deleted.contains(s.getId()));
+                }
+            }
+        }
+        return changes;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, byId.size(), byStudent.size());
+    }
+
+    public synchronized void clear() {
+        loadingIds.clear();
+        loadingLists.clear();
+        byId.clear();
+        byStudent.clear();
+    }
+}
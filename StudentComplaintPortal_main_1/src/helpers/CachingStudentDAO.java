@@ -0,0 +1,222 @@
+package helpers;
+
+import models.IdentityCheck;
+import models.Student;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Read-through cache in front of StudentDAO for the identity lookups that login and
+// sign-up repeat: students by email, and whether a student ID is taken. Misses are
+// cached too ("no such email"), with a shorter lifetime, so a sign-up form probing
+// the same keys does not go to the database each time. Writes made through this
+// instance update the cache; changes made elsewhere show up once entries expire, and
+// the UNIQUE constraints stay the final word on duplicates.
+public class CachingStudentDAO extends StudentDAO {
+
+    public record CacheStats(long hits, long negativeHits, long misses, int students, int studentIds) {
+
+        public double hitRate() {
+            long lookups = hits + negativeHits + misses;
+            return lookups == 0 ? 0 : (hits + negativeHits) / (double) lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d negativeHits=%d misses=%d hitRate=%.1f%% students=%d studentIds=%d",
+                    hits, negativeHits, misses, hitRate() * 100, students, studentIds);
+        }
+    }
+
+    // value == null records that the key does not exist
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    // Guarded by this
+    private final Map<String, Entry<Student>> byEmail;
+    private final Map<String, Entry<Boolean>> studentIds;
+    private long hits;
+    private long negativeHits;
+    private long misses;
+
+    public CachingStudentDAO(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.byEmail = lru(maxEntries);
+        this.studentIds = lru(maxEntries);
+    }
+
+    private static <K, V> Map<K, V> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase().trim();
+    }
+
+    private <V> Entry<V> entry(V value) {
+        long ttl = value == null || Boolean.FALSE.equals(value) ? negativeTtlMillis : ttlMillis;
+        return new Entry<>(value, System.currentTimeMillis() + ttl);
+    }
+
+    // Returns the live entry, or null on a miss; counts the lookup
+    private <V> Entry<V> lookup(Map<String, Entry<V>> map, String key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null && System.currentTimeMillis() > entry.expiresAt()) {
+            map.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else if (entry.value() == null || Boolean.FALSE.equals(entry.value())) {
+            negativeHits++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    // Records a loaded student (or its absence) under both keys
+    private synchronized void remember(String email, Student student) {
+        byEmail.put(key(email), entry(student == null ? null : new Student(student)));
+        if (student != null) {
+            studentIds.put(student.getStudentId(), entry(true));
+        }
+    }
+
+    @Override
+    protected Student loadStudentByEmail(String email) throws SQLException {
+        String key = key(email);
+        synchronized (this) {
+            Entry<Student> cached = lookup(byEmail, key);
+            if (cached != null) {
+                return cached.value() == null ? null : new Student(cached.value());
+            }
+        }
+
+        Student student = super.loadStudentByEmail(key);
+        remember(key, student);
+        return student;
+    }
+
+    @Override
+    protected IdentityCheck queryIdentity(String email, String studentId) throws SQLException {
+        String key = key(email);
+        Boolean emailTaken = null;
+        Boolean idTaken = null;
+        synchronized (this) {
+            Entry<Student> student = lookup(byEmail, key);
+            if (student != null) emailTaken = student.value() != null;
+            Entry<Boolean> id = lookup(studentIds, studentId);
+            if (id != null) idTaken = id.value();
+        }
+        if (emailTaken != null && idTaken != null) {
+            return new IdentityCheck(emailTaken, idTaken);
+        }
+
+        IdentityCheck result = super.queryIdentity(key, studentId);
+        synchronized (this) {
+            // A taken email is not cached here: there is no row to cache, only a flag
+            if (!result.emailTaken()) byEmail.put(key, entry(null));
+            studentIds.put(studentId, entry(result.studentIdTaken()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isEmailExists(String email) {
+        return findStudentByEmail(email) != null;
+    }
+
+    @Override
+    public boolean isStudentIdExists(String studentId) {
+        synchronized (this) {
+            Entry<Boolean> cached = lookup(studentIds, studentId);
+            if (cached != null) return cached.value();
+        }
+        boolean exists = super.isStudentIdExists(studentId);
+        synchronized (this) {
+            studentIds.put(studentId, entry(exists));
+        }
+        return exists;
+    }
+
+    @Override
+    public boolean insertStudent(Student student) {
+        boolean ok = super.insertStudent(student);
+        if (ok) {
+            remember(student.getEmail(), student);
+        } else {
+            // Possibly lost a race for one of the keys; ask the database next time
+            forget(student.getEmail(), student.getStudentId());
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        String previousId = null;
+        synchronized (this) {
+            Entry<Student> cached = byEmail.get(key(student.getEmail()));
+            if (cached != null && cached.value() != null) previousId = cached.value().getStudentId();
+        }
+
+        boolean ok = super.updateStudent(student);
+        forget(student.getEmail(), student.getStudentId());
+        if (previousId != null) {
+            synchronized (this) {
+                studentIds.remove(previousId);
+            }
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean updatePassword(String email, String expected, String password) {
+        boolean ok = super.updatePassword(email, expected, password);
+        synchronized (this) {
+            Entry<Student> cached = byEmail.get(key(email));
+            if (cached != null && cached.value() != null) {
+                if (ok && expected.equals(cached.value().getPassword())) {
+                    cached.value().setPassword(password);
+                } else if (!ok) {
+                    byEmail.remove(key(email)); // someone else changed it; reload
+                }
+            }
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean setProfileImage(String email, String image) {
+        boolean ok = super.setProfileImage(email, image);
+        synchronized (this) {
+            Entry<Student> cached = byEmail.get(key(email));
+            if (ok && cached != null && cached.value() != null) {
+                cached.value().setProfileImage(image);
+            }
+        }
+        return ok;
+    }
+
+    private synchronized void forget(String email, String studentId) {
+        if (email != null) byEmail.remove(key(email));
+        if (studentId != null) studentIds.remove(studentId);
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, negativeHits, misses, byEmail.size(), studentIds.size());
+    }
+
+    public synchronized void clear() {
+        byEmail.clear();
+        studentIds.clear();
+    }
+}
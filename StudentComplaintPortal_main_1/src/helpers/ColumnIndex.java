@@ -0,0 +1,39 @@
+package helpers;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Column label -> position for one ResultSet, resolved once from its metadata
+// so row mappers can read every row by index.
+public class ColumnIndex {
+    private final Map<String, Integer> positions;
+
+    private ColumnIndex(Map<String, Integer> positions) {
+        this.positions = positions;
+    }
+
+    public static ColumnIndex of(ResultSet rs) throws SQLException {
+        ResultSetMetaData md = rs.getMetaData();
+        int count = md.getColumnCount();
+        Map<String, Integer> positions = new HashMap<>(count * 2);
+        for (int i = 1; i <= count; i++) {
+            positions.putIfAbsent(md.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new ColumnIndex(positions);
+    }
+
+    // 1-based position, or 0 when the column is not in the result
+    public int indexOf(String label) {
+        return positions.getOrDefault(label.toLowerCase(Locale.ROOT), 0);
+    }
+
+    public int require(String label) throws SQLException {
+        int index = indexOf(label);
+        if (index == 0) throw new SQLException("Column not found in result: " + label);
+        return index;
+    }
+}
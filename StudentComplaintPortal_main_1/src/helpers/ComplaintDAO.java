@@ -1,29 +1,124 @@
 package helpers;
 
+import models.BatchResult;
+import models.ChangeSet;
 import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.PageCursor;
+import models.SearchPage;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ComplaintDAO implements ComplaintRepository {
+    private static final Logger LOG = Logger.getLogger(ComplaintDAO.class.getName());
+
+    // Columns for list screens; the TEXT description is left out and feedback is cut short
+    private static final int FEEDBACK_PREVIEW_LENGTH = 120;
+    private static final String SUMMARY_COLUMNS = "id, title, category, status, student_email, "
+            + "LEFT(feedback, " + (FEEDBACK_PREVIEW_LENGTH + 1) + ") AS feedback_preview, created_at, updated_at";
+
+    // Search uses the FULLTEXT index; InnoDB does not index words shorter than
+    // innodb_ft_min_token_size, so those queries go to the local index instead. The
+    // local index is loaded once and then kept current from updated_at and the
+    // tombstones, with the same watermark as getChangesSince.
+    private static final int FULLTEXT_MIN_TOKEN_LENGTH = 3;
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+    private static volatile boolean fullTextAvailable = true;
+    private static volatile Set<String> fullTextStopwords;
+    private static final Object localIndexLock = new Object();
+    private static ComplaintSearchIndex localIndex; // guarded by localIndexLock
+    private static LocalDateTime localIndexWatermark;
+
+    // Delta sync. updated_at is set when a statement runs but only visible once it
+    // commits, so each watermark steps back a little and the next call re-reads that
+    // window; merging a row twice is harmless. Tombstones older than the retention are
+    // pruned, and a watermark that old gets an incomplete answer (reload instead).
+    private static final long CHANGE_WINDOW_SECONDS = 5;
+    static final long TOMBSTONE_RETENTION_DAYS = 7;
+    private static final long TOMBSTONE_PRUNE_INTERVAL_MILLIS = 60 * 60_000;
+    private static volatile long lastTombstonePrune;
+
+    // Every statement the DAO runs, so benchmarks.QueryPlanTest can EXPLAIN exactly what ships
+    public static final String SQL_INSERT = "INSERT INTO complaints (title, description, category, student_email, status) VALUES (?, ?, ?, ?, ?)";
+    public static final String SQL_SUMMARIES_BY_STUDENT = "SELECT " + SUMMARY_COLUMNS + " FROM complaints WHERE student_email = ? ORDER BY created_at DESC, id DESC";
+    public static final String SQL_BY_STUDENT = "SELECT * FROM complaints WHERE student_email = ? ORDER BY created_at DESC, id DESC";
+    // Unbounded lists. For the whole table the optimizer's scan + filesort is faster
+    // than walking idx_created; for one status it picks the same plan when the status
+    // covers a large share of the table, and reading the index in order avoids the sort
+    public static final String SQL_ALL = "SELECT * FROM complaints ORDER BY created_at DESC, id DESC";
+    public static final String SQL_BY_STATUS = "SELECT * FROM complaints FORCE INDEX (idx_status_created) WHERE status = ? ORDER BY created_at DESC, id DESC";
+    public static final String SQL_BY_ID = "SELECT * FROM complaints WHERE id = ?";
+    public static final String SQL_UPDATE = "UPDATE complaints SET title = ?, description = ?, category = ?, status = ? WHERE id = ?";
+    public static final String SQL_DELETE = "DELETE FROM complaints WHERE id = ?";
+    public static final String SQL_SET_STATUS = "UPDATE complaints SET status = ?, updated_at = NOW() WHERE id = ?";
+    public static final String SQL_SET_FEEDBACK = "UPDATE complaints SET feedback = ?, feedback_updated_at = NOW() WHERE id = ?";
+    public static final String SQL_COUNT_ALL = "SELECT COUNT(*) FROM complaints";
+    public static final String SQL_COUNT_BY_STATUS = "SELECT COUNT(*) FROM complaints WHERE status = ?";
+    public static final String SQL_COUNT_BY_STUDENT = "SELECT COUNT(*) FROM complaints WHERE student_email = ?";
+    public static final String SQL_COUNT_RESOLVED_BY_STUDENT = "SELECT COUNT(*) FROM complaints WHERE student_email = ? AND status = 'Resolved'";
+    public static final String SQL_SEARCH_ROWS = "SELECT id, status, title, description, feedback FROM complaints";
+    public static final String SQL_SEARCH_CHANGED_ROWS = SQL_SEARCH_ROWS + " WHERE updated_at >= ?";
+    public static final String SQL_SEARCH_DELETED = "SELECT complaint_id FROM complaint_tombstones WHERE deleted_at >= ?";
+    public static final String SQL_CHANGES = "SELECT " + SUMMARY_COLUMNS + " FROM complaints WHERE updated_at >= ? ORDER BY updated_at, id LIMIT ?";
+    public static final String SQL_TOMBSTONES = "SELECT complaint_id FROM complaint_tombstones WHERE deleted_at >= ? LIMIT ?";
+    public static final String SQL_PRUNE_TOMBSTONES = "DELETE FROM complaint_tombstones WHERE deleted_at < ?";
+    public static final String SQL_DASHBOARD_STATS = """
+        SELECT (SELECT COUNT(*) FROM students) AS total_students,
+               COUNT(*) AS total,
+               COALESCE(SUM(status = 'Pending'), 0) AS pending,
+               COALESCE(SUM(status = 'In Progress'), 0) AS in_progress,
+               COALESCE(SUM(status = 'Resolved'), 0) AS resolved
+        FROM complaints
+    """;
+    public static final String SQL_STUDENT_DASHBOARD_STATS = """
+        SELECT COUNT(*) AS total,
+               COALESCE(SUM(status = 'Pending'), 0) AS pending,
+               COALESCE(SUM(status = 'In Progress'), 0) AS in_progress,
+               COALESCE(SUM(status = 'Resolved'), 0) AS resolved
+        FROM complaints
+        WHERE student_email = ?
+    """;
+
+    public static String pageSql(boolean byStatus, boolean afterCursor) {
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM complaints WHERE 1 = 1");
+        if (byStatus) {
+            sql.append(" AND status = ?");
+        }
+        if (afterCursor) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        return sql.toString();
+    }
 
-public class ComplaintDAO {
+    public static String fullTextSql(boolean byStatus) {
+        String match = "MATCH(title, description, feedback) AGAINST (? IN BOOLEAN MODE)";
+        return "SELECT " + SUMMARY_COLUMNS + ", " + match + " AS relevance FROM complaints WHERE " + match
+                + (byStatus ? " AND status = ?" : "")
+                + " ORDER BY relevance DESC, id DESC LIMIT ? OFFSET ?";
+    }
 
-    private boolean hasColumn(ResultSet rs, String columnLabel) {
-        try {
-            ResultSetMetaData md = rs.getMetaData();
-            int count = md.getColumnCount();
-            for (int i = 1; i <= count; i++) {
-                if (columnLabel.equalsIgnoreCase(md.getColumnLabel(i))) return true;
-            }
-        } catch (SQLException ignored) {}
-        return false;
+    public static String summariesByIdsSql(int count) {
+        String placeholders = String.join(", ", Collections.nCopies(count, "?"));
+        return "SELECT " + SUMMARY_COLUMNS + " FROM complaints WHERE id IN (" + placeholders + ")";
     }
 
+    @Override
     public boolean insertComplaint(Complaint complaint) {
-        String sql = "INSERT INTO complaints (title, description, category, student_email, status) VALUES (?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.insertComplaint");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, complaint.getTitle());
             pstmt.setString(2, complaint.getDescription());
@@ -42,93 +137,343 @@ public class ComplaintDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error inserting complaint: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error inserting complaint: {0}", e.getMessage());
         }
 
         return false;
     }
 
-    private Complaint mapRow(ResultSet rs) throws SQLException {
-        Complaint c = new Complaint();
-        c.setId(rs.getInt("id"));
-        c.setTitle(rs.getString("title"));
-        c.setDescription(rs.getString("description"));
-        c.setCategory(rs.getString("category"));
-        c.setStatus(rs.getString("status")); // Direct mapping, no normalization
-        c.setStudentEmail(rs.getString("student_email"));
-        if (hasColumn(rs, "feedback")) {
-            c.setFeedback(rs.getString("feedback"));
+    public static final RowMapper<Complaint> COMPLAINT_MAPPER = columns -> {
+        int id = columns.require("id");
+        int title = columns.require("title");
+        int description = columns.require("description");
+        int category = columns.require("category");
+        int status = columns.require("status");
+        int studentEmail = columns.require("student_email");
+        int feedback = columns.indexOf("feedback");
+        int createdAt = columns.indexOf("created_at");
+
+        return rs -> {
+            Complaint c = new Complaint();
+            c.setId(rs.getInt(id));
+            c.setTitle(rs.getString(title));
+            c.setDescription(rs.getString(description));
+            c.setCategory(rs.getString(category));
+            c.setStatus(rs.getString(status)); // Direct mapping, no normalization
+            c.setStudentEmail(rs.getString(studentEmail));
+            if (feedback > 0) {
+                c.setFeedback(rs.getString(feedback));
+            }
+            if (createdAt > 0) {
+                c.setCreatedAt(rs.getObject(createdAt, LocalDateTime.class));
+            }
+            return c;
+        };
+    };
+
+    public static final RowMapper<ComplaintSummary> SUMMARY_MAPPER = columns -> {
+        int id = columns.require("id");
+        int title = columns.require("title");
+        int category = columns.require("category");
+        int status = columns.require("status");
+        int studentEmail = columns.require("student_email");
+        int feedbackPreview = columns.require("feedback_preview");
+        int createdAt = columns.require("created_at");
+        int updatedAt = columns.require("updated_at");
+
+        return rs -> {
+            ComplaintSummary s = new ComplaintSummary();
+            s.setId(rs.getInt(id));
+            s.setTitle(rs.getString(title));
+            s.setCategory(rs.getString(category));
+            s.setStatus(rs.getString(status));
+            s.setStudentEmail(rs.getString(studentEmail));
+            s.setFeedbackPreview(previewOf(rs.getString(feedbackPreview)));
+            s.setCreatedAt(rs.getObject(createdAt, LocalDateTime.class));
+            s.setUpdatedAt(rs.getObject(updatedAt, LocalDateTime.class));
+            return s;
+        };
+    };
+
+    public static String previewOf(String feedback) {
+        if (feedback == null || feedback.length() <= FEEDBACK_PREVIEW_LENGTH) return feedback;
+        return feedback.substring(0, FEEDBACK_PREVIEW_LENGTH) + "…";
+    }
+
+    @Override
+    public List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail) {
+        List<ComplaintSummary> complaints = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintSummariesByStudentEmail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SUMMARIES_BY_STUDENT)) {
+
+            pstmt.setString(1, studentEmail.toLowerCase().trim());
+            complaints = SUMMARY_MAPPER.list(pstmt.executeQuery());
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error getting complaint summaries: {0}", e.getMessage());
         }
-        return c;
+
+        return complaints;
     }
 
+    @Override
     public List<Complaint> getComplaintsByStudentEmail(String studentEmail) {
         List<Complaint> complaints = new ArrayList<>();
-        String sql = "SELECT * FROM complaints WHERE student_email = ? ORDER BY created_at DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintsByStudentEmail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_BY_STUDENT)) {
 
             pstmt.setString(1, studentEmail.toLowerCase().trim());
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                complaints.add(mapRow(rs));
-            }
+            complaints = COMPLAINT_MAPPER.list(pstmt.executeQuery());
 
         } catch (SQLException e) {
-            System.err.println("Error getting complaints: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting complaints: {0}", e.getMessage());
         }
 
         return complaints;
     }
 
+    @Override
     public List<Complaint> getAllComplaints() {
         List<Complaint> complaints = new ArrayList<>();
-        String sql = "SELECT * FROM complaints ORDER BY created_at DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getAllComplaints");
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SQL_ALL)) {
 
-            while (rs.next()) {
-                complaints.add(mapRow(rs));
-            }
+            complaints = COMPLAINT_MAPPER.list(rs);
 
         } catch (SQLException e) {
-            System.err.println("Error getting all complaints: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting all complaints: {0}", e.getMessage());
         }
 
         return complaints;
     }
 
+    @Override
     public List<Complaint> getComplaintsByStatus(String status) {
         List<Complaint> complaints = new ArrayList<>();
-        String sql = "SELECT * FROM complaints WHERE status = ? ORDER BY created_at DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintsByStatus");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_BY_STATUS)) {
 
             pstmt.setString(1, status); // Use exact status value
-            ResultSet rs = pstmt.executeQuery();
+            complaints = COMPLAINT_MAPPER.list(pstmt.executeQuery());
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error getting complaints by status: {0}", e.getMessage());
+        }
+
+        return complaints;
+    }
+
+    // Keyset pagination ordered by (created_at DESC, id DESC). Pass after = null for the
+    // first page and status = null for all statuses.
+    @Override
+    public ComplaintPage getComplaintsPage(String status, PageCursor after, int limit) {
+        String sql = pageSql(status != null, after != null);
 
-            while (rs.next()) {
-                complaints.add(mapRow(rs));
+        List<ComplaintSummary> complaints = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintsPage");
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            if (status != null) {
+                pstmt.setString(i++, status);
             }
+            if (after != null) {
+                pstmt.setObject(i++, after.createdAt());
+                pstmt.setObject(i++, after.createdAt());
+                pstmt.setInt(i++, after.id());
+            }
+            pstmt.setInt(i, limit + 1); // one extra row tells us whether another page exists
+            complaints = SUMMARY_MAPPER.list(pstmt.executeQuery());
 
         } catch (SQLException e) {
-            System.err.println("Error getting complaints by status: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting complaints page: {0}", e.getMessage());
         }
 
-        return complaints;
+        PageCursor next = null;
+        if (complaints.size() > limit) {
+            complaints.remove(limit);
+            ComplaintSummary last = complaints.get(limit - 1);
+            next = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+        return new ComplaintPage(complaints, next);
     }
 
-    public boolean updateComplaint(Complaint complaint) {
-        String sql = "UPDATE complaints SET title = ?, description = ?, category = ?, status = ? WHERE id = ?";
+    @Override
+    public SearchPage searchComplaints(String query, String status, int offset, int limit) {
+        List<String> terms = ComplaintSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchPage(new ArrayList<>(), -1);
+        }
+
+        boolean shortTerm = terms.stream().anyMatch(term -> term.length() < FULLTEXT_MIN_TOKEN_LENGTH);
+        if (fullTextAvailable && !shortTerm) {
+            try {
+                // A required stopword would match nothing, so leave stopwords out
+                List<String> indexed = new ArrayList<>(terms);
+                indexed.removeAll(fullTextStopwords());
+                if (!indexed.isEmpty()) {
+                    return searchFullText(indexed, status, offset, limit);
+                }
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_FT_MATCHING_KEY_NOT_FOUND) {
+                    LOG.log(Level.WARNING, "Error searching complaints: {0}", e.getMessage());
+                    return new SearchPage(new ArrayList<>(), -1);
+                }
+                fullTextAvailable = false;
+                LOG.warning("FULLTEXT index not found, using the local search index");
+            }
+        }
+
+        try {
+            return searchLocal(terms, status, offset, limit);
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error searching complaints: {0}", e.getMessage());
+            return new SearchPage(new ArrayList<>(), -1);
+        }
+    }
+
+    private Set<String> fullTextStopwords() throws SQLException {
+        Set<String> stopwords = fullTextStopwords;
+        if (stopwords == null) {
+            stopwords = new HashSet<>();
+            try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.fullTextStopwords");
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT value FROM information_schema.INNODB_FT_DEFAULT_STOPWORD")) {
+                while (rs.next()) {
+                    stopwords.add(rs.getString(1));
+                }
+            }
+            fullTextStopwords = stopwords;
+        }
+        return stopwords;
+    }
+
+    private SearchPage searchFullText(List<String> terms, String status, int offset, int limit) throws SQLException {
+        // Every term is required and matched as a prefix, so results narrow while typing
+        StringBuilder against = new StringBuilder();
+        for (String term : terms) {
+            against.append('+').append(term).append("* ");
+        }
+
+        String sql = fullTextSql(status != null);
+
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.searchFullText");
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            pstmt.setString(i++, against.toString());
+            pstmt.setString(i++, against.toString());
+            if (status != null) {
+                pstmt.setString(i++, status);
+            }
+            pstmt.setInt(i++, limit + 1); // one extra row tells us whether another page exists
+            pstmt.setInt(i, offset);
+
+            List<ComplaintSummary> complaints = SUMMARY_MAPPER.list(pstmt.executeQuery());
+            if (complaints.size() > limit) {
+                complaints.remove(limit);
+                return new SearchPage(complaints, offset + limit);
+            }
+            return new SearchPage(complaints, -1);
+        }
+    }
+
+    private SearchPage searchLocal(List<String> terms, String status, int offset, int limit) throws SQLException {
+        List<Integer> ids = localSearchIndex().search(terms, status);
+        if (offset >= ids.size()) {
+            return new SearchPage(new ArrayList<>(), -1);
+        }
+        List<Integer> pageIds = ids.subList(offset, Math.min(ids.size(), offset + limit));
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        String sql = summariesByIdsSql(pageIds.size());
+
+        Map<Integer, ComplaintSummary> byId = new HashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.searchLocal");
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            for (int i = 0; i < pageIds.size(); i++) {
+                pstmt.setInt(i + 1, pageIds.get(i));
+            }
+            for (ComplaintSummary summary : SUMMARY_MAPPER.list(pstmt.executeQuery())) {
+                byId.put(summary.getId(), summary);
+            }
+        }
+
+        // Keep the index's ranking; rows deleted since the index was built drop out
+        List<ComplaintSummary> complaints = new ArrayList<>(pageIds.size());
+        for (int id : pageIds) {
+            ComplaintSummary summary = byId.get(id);
+            if (summary != null) complaints.add(summary);
+        }
+        int next = offset + limit < ids.size() ? offset + limit : -1;
+        return new SearchPage(complaints, next);
+    }
+
+    // Returns the local index, loading it on first use and otherwise applying only the
+    // rows changed and deleted since the last call. Rows removed by the students FK
+    // cascade leave no tombstone; searchLocal drops them when it reads the page.
+    private ComplaintSearchIndex localSearchIndex() throws SQLException {
+        synchronized (localIndexLock) {
+            try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.localSearchIndex");
+                 Statement stmt = conn.createStatement()) {
+
+                LocalDateTime now = databaseNow(stmt);
+                LocalDateTime since = localIndexWatermark;
+                if (localIndex == null || since.isBefore(now.minusDays(TOMBSTONE_RETENTION_DAYS))) {
+                    long start = System.nanoTime();
+                    ComplaintSearchIndex index = new ComplaintSearchIndex();
+                    try (ResultSet rs = stmt.executeQuery(SQL_SEARCH_ROWS)) {
+                        addSearchRows(index, rs);
+                    }
+                    localIndex = index;
+                    LOG.log(Level.INFO, "Built local search index complaints={0,number,#} ms={1,number,0}",
+                            new Object[]{index.size(), (System.nanoTime() - start) / 1_000_000.0});
+                } else {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SQL_SEARCH_CHANGED_ROWS)) {
+                        pstmt.setObject(1, since);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            addSearchRows(localIndex, rs);
+                        }
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(SQL_SEARCH_DELETED)) {
+                        pstmt.setObject(1, since);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) localIndex.remove(rs.getInt(1));
+                        }
+                    }
+                }
+                localIndexWatermark = now.minusSeconds(CHANGE_WINDOW_SECONDS);
+                return localIndex;
+            }
+        }
+    }
+
+    private static void addSearchRows(ComplaintSearchIndex index, ResultSet rs) throws SQLException {
+        while (rs.next()) {
+            index.add(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+        }
+    }
+
+    // The database clock, so client clocks never matter for watermarks
+    private static LocalDateTime databaseNow(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT NOW()")) {
+            rs.next();
+            return rs.getObject(1, LocalDateTime.class);
+        }
+    }
+
+    @Override
+    public boolean updateComplaint(Complaint complaint) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.updateComplaint");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE)) {
+
             pstmt.setString(1, complaint.getTitle());
             pstmt.setString(2, complaint.getDescription());
             pstmt.setString(3, complaint.getCategory());
@@ -138,51 +483,44 @@ public class ComplaintDAO {
             return pstmt.executeUpdate() > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error updating complaint: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error updating complaint: {0}", e.getMessage());
             return false;
         }
     }
 
+    @Override
     public boolean deleteComplaint(int complaintId) {
-        String sql = "DELETE FROM complaints WHERE id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.deleteComplaint");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_DELETE)) {
 
             pstmt.setInt(1, complaintId);
             return pstmt.executeUpdate() > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error deleting complaint: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error deleting complaint: {0}", e.getMessage());
             return false;
         }
     }
 
+    @Override
     public Complaint getComplaintById(int id) {
-        String sql = "SELECT * FROM complaints WHERE id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintById");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_BY_ID)) {
 
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return mapRow(rs);
-            }
+            return COMPLAINT_MAPPER.first(pstmt.executeQuery());
 
         } catch (SQLException e) {
-            System.err.println("Error getting complaint by ID: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting complaint by ID: {0}", e.getMessage());
         }
 
         return null;
     }
 
+    @Override
     public int getComplaintCountByStatus(String status) {
-        String sql = "SELECT COUNT(*) FROM complaints WHERE status = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintCountByStatus");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_COUNT_BY_STATUS)) {
 
             pstmt.setString(1, status); // Use exact status value
             ResultSet rs = pstmt.executeQuery();
@@ -192,73 +530,68 @@ public class ComplaintDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting complaint count: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting complaint count: {0}", e.getMessage());
         }
 
         return 0;
     }
 
+    @Override
     public int getTotalComplaintCount() {
-        String sql = "SELECT COUNT(*) FROM complaints";
-
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getTotalComplaintCount");
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SQL_COUNT_ALL)) {
 
             if (rs.next()) {
                 return rs.getInt(1);
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting total count: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting total count: {0}", e.getMessage());
         }
 
         return 0;
     }
 
     // FIXED: Status update method with proper validation
+    @Override
     public boolean setComplaintStatus(int id, String status) {
         // Validate status before updating
         if (!isValidStatus(status)) {
-            System.err.println("Invalid status: " + status);
+            LOG.log(Level.WARNING, "Invalid status: {0}", status);
             return false;
         }
 
-        String sql = "UPDATE complaints SET status = ?, updated_at = NOW() WHERE id = ?";
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.setComplaintStatus");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SET_STATUS)) {
             
             pstmt.setString(1, status.trim()); // Trim whitespace
             pstmt.setInt(2, id);
             
             int rowsUpdated = pstmt.executeUpdate();
             if (rowsUpdated > 0) {
-                System.out.println("✅ Status updated to: " + status + " for complaint ID: " + id);
+                LOG.log(Level.FINE, "Status updated id={0,number,#} status={1}", new Object[]{id, status});
                 return true;
             } else {
-                System.err.println("❌ No rows updated for complaint ID: " + id);
+                LOG.log(Level.WARNING, "No rows updated for complaint id={0,number,#}", id);
                 return false;
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Error setting complaint status: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error setting complaint status: {0}", e.getMessage());
             return false;
         }
     }
 
     // Helper method to validate status values
     private boolean isValidStatus(String status) {
-        if (status == null) return false;
-        String trimmed = status.trim();
-        return trimmed.equals("Pending") || 
-               trimmed.equals("In Progress") || 
-               trimmed.equals("Resolved");
+        return InputValidator.isValidStatus(status);
     }
 
+    @Override
     public boolean setComplaintFeedback(int id, String feedback) {
-        String sql = "UPDATE complaints SET feedback = ?, feedback_updated_at = NOW() WHERE id = ?";
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.setComplaintFeedback");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SET_FEEDBACK)) {
             if (feedback != null && !feedback.isBlank()) {
                 pstmt.setString(1, feedback);
             } else {
@@ -267,16 +600,88 @@ public class ComplaintDAO {
             pstmt.setInt(2, id);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error setting complaint feedback: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error setting complaint feedback: {0}", e.getMessage());
             return false;
         }
     }
 
-    public int getComplaintCountByStudentEmail(String studentEmail) {
-        String sql = "SELECT COUNT(*) FROM complaints WHERE student_email = ?";
+    // Bulk operations: one transaction, one executeBatch, one outcome per id
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    @Override
+    public BatchResult setComplaintStatusBatch(List<Integer> ids, String status) {
+        if (!isValidStatus(status)) {
+            LOG.log(Level.WARNING, "Invalid status: {0}", status);
+            return new BatchResult(List.of(), List.copyOf(ids), "Invalid status: " + status);
+        }
+        String trimmed = status.trim();
+        return executeBatch("ComplaintDAO.setComplaintStatusBatch", SQL_SET_STATUS, ids, (pstmt, id) -> {
+            pstmt.setString(1, trimmed);
+            pstmt.setInt(2, id);
+        });
+    }
+
+    @Override
+    public BatchResult setComplaintFeedbackBatch(List<Integer> ids, String feedback) {
+        boolean clear = feedback == null || feedback.isBlank();
+        return executeBatch("ComplaintDAO.setComplaintFeedbackBatch", SQL_SET_FEEDBACK, ids, (pstmt, id) -> {
+            if (clear) {
+                pstmt.setNull(1, Types.VARCHAR);
+            } else {
+                pstmt.setString(1, feedback);
+            }
+            pstmt.setInt(2, id);
+        });
+    }
+
+    @Override
+    public BatchResult deleteComplaintsBatch(List<Integer> ids) {
+        return executeBatch("ComplaintDAO.deleteComplaintsBatch", SQL_DELETE, ids, (pstmt, id) -> pstmt.setInt(1, id));
+    }
+
+    private interface BatchBinder {
+        void bind(PreparedStatement pstmt, int id) throws SQLException;
+    }
+
+    private BatchResult executeBatch(String operation, String sql, List<Integer> ids, BatchBinder binder) {
+        if (ids.isEmpty()) return new BatchResult(List.of(), List.of(), null);
+
+        try (Connection conn = DatabaseConfig.getConnection(operation)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int id : ids) {
+                    binder.bind(pstmt, id);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                conn.commit();
+
+                List<Integer> succeeded = new ArrayList<>();
+                List<Integer> failed = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i++) {
+                    int count = i < counts.length ? counts[i] : Statement.EXECUTE_FAILED;
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        succeeded.add(ids.get(i));
+                    } else {
+                        failed.add(ids.get(i));
+                    }
+                }
+                return new BatchResult(succeeded, failed, null);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Batch update failed, rolled back: {0}", e.getMessage());
+            return new BatchResult(List.of(), List.copyOf(ids), e.getMessage());
+        }
+    }
+
+    @Override
+    public int getComplaintCountByStudentEmail(String studentEmail) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getComplaintCountByStudentEmail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_COUNT_BY_STUDENT)) {
 
             pstmt.setString(1, studentEmail.toLowerCase().trim());
             ResultSet rs = pstmt.executeQuery();
@@ -286,17 +691,16 @@ public class ComplaintDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting student complaint count: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting student complaint count: {0}", e.getMessage());
         }
 
         return 0;
     }
 
+    @Override
     public int getResolvedComplaintCountByStudentEmail(String studentEmail) {
-        String sql = "SELECT COUNT(*) FROM complaints WHERE student_email = ? AND status = 'Resolved'";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getResolvedComplaintCountByStudentEmail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_COUNT_RESOLVED_BY_STUDENT)) {
 
             pstmt.setString(1, studentEmail.toLowerCase().trim());
             ResultSet rs = pstmt.executeQuery();
@@ -306,9 +710,106 @@ public class ComplaintDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting resolved complaint count: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting resolved complaint count: {0}", e.getMessage());
         }
 
         return 0;
     }
+
+    // All admin dashboard counters in one round trip.
+    @Override
+    public DashboardStats getDashboardStats() {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getDashboardStats");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_DASHBOARD_STATS);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                return new DashboardStats(rs.getInt("total_students"), rs.getInt("total"),
+                        rs.getInt("pending"), rs.getInt("in_progress"), rs.getInt("resolved"));
+            }
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error getting dashboard stats: {0}", e.getMessage());
+        }
+
+        return DashboardStats.EMPTY;
+    }
+
+    @Override
+    public DashboardStats getStudentDashboardStats(String studentEmail) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getStudentDashboardStats");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_STUDENT_DASHBOARD_STATS)) {
+
+            pstmt.setString(1, studentEmail.toLowerCase().trim());
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return new DashboardStats(1, rs.getInt("total"),
+                        rs.getInt("pending"), rs.getInt("in_progress"), rs.getInt("resolved"));
+            }
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error getting student dashboard stats: {0}", e.getMessage());
+        }
+
+        return DashboardStats.EMPTY;
+    }
+
+    @Override
+    public ChangeSet getChangesSince(LocalDateTime since, int limit) {
+        try (Connection conn = DatabaseConfig.getConnection("ComplaintDAO.getChangesSince");
+             Statement stmt = conn.createStatement()) {
+
+            LocalDateTime now = databaseNow(stmt);
+            LocalDateTime watermark = now.minusSeconds(CHANGE_WINDOW_SECONDS);
+            LocalDateTime horizon = now.minusDays(TOMBSTONE_RETENTION_DAYS);
+            pruneTombstones(conn, horizon);
+
+            if (since == null) {
+                return new ChangeSet(List.of(), List.of(), watermark, true);
+            }
+            if (since.isBefore(horizon)) {
+                return new ChangeSet(List.of(), List.of(), watermark, false);
+            }
+
+            List<ComplaintSummary> changed;
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL_CHANGES)) {
+                pstmt.setObject(1, since);
+                pstmt.setInt(2, limit + 1);
+                changed = SUMMARY_MAPPER.list(pstmt.executeQuery());
+            }
+            List<Integer> deleted = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL_TOMBSTONES)) {
+                pstmt.setObject(1, since);
+                pstmt.setInt(2, limit + 1);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) deleted.add(rs.getInt(1));
+                }
+            }
+
+            if (changed.size() + deleted.size() > limit) {
+                return new ChangeSet(List.of(), List.of(), watermark, false);
+            }
+            return new ChangeSet(changed, deleted, watermark, true);
+
+        } catch (SQLException e) {
+            // Nothing learned; the caller keeps its watermark and asks again later
+            LOG.log(Level.WARNING, "Error getting complaint changes: {0}", e.getMessage());
+            return new ChangeSet(List.of(), List.of(), since, true);
+        }
+    }
+
+    private static void pruneTombstones(Connection conn, LocalDateTime horizon) throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastTombstonePrune < TOMBSTONE_PRUNE_INTERVAL_MILLIS) return;
+        lastTombstonePrune = now;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_PRUNE_TOMBSTONES)) {
+            pstmt.setObject(1, horizon);
+            int pruned = pstmt.executeUpdate();
+            if (pruned > 0) {
+                LOG.log(Level.FINE, "Pruned complaint tombstones count={0,number,#}", pruned);
+            }
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package helpers;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+// Writes every complaint to a CSV or JSON-lines file, optionally gzipped. Rows are
+// streamed from a forward-only result set and written as they arrive, so memory use
+// does not grow with the table. Reads the MySQL database from DatabaseConfig directly,
+// so it does not work with the embedded or remote backends.
+public class ComplaintExporter {
+
+    public enum Format { CSV, JSONL }
+
+    public record ExportResult(Path file, long rows, long bytes, long millis) {}
+
+    public static final String SQL_EXPORT = "SELECT id, title, description, category, status, feedback, "
+            + "student_email, created_at, updated_at, feedback_updated_at FROM complaints ORDER BY id";
+
+    private static final String[] COLUMNS = {"id", "title", "description", "category", "status", "feedback",
+            "student_email", "created_at", "updated_at", "feedback_updated_at"};
+
+    // Connector/J streams rows one at a time for a forward-only, read-only result set
+    // with this fetch size instead of buffering the whole result in memory.
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int PROGRESS_INTERVAL = 5_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Server-side limit on how long it waits for us to read; a slow disk must not abort the dump
+    private static final int NET_WRITE_TIMEOUT_SECONDS = 600;
+
+    private final Format format;
+    private final boolean gzip;
+
+    public ComplaintExporter(Format format, boolean gzip) {
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    // Picks the format from the file name: .jsonl/.json for JSON lines, anything else
+    // is CSV; a trailing .gz compresses the output.
+    public static ComplaintExporter forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        Format format = name.endsWith(".jsonl") || name.endsWith(".json") ? Format.JSONL : Format.CSV;
+        return new ComplaintExporter(format, gzip);
+    }
+
+    // progress receives the running row count every few thousand rows and once at the end.
+    public ExportResult export(Path file, LongConsumer progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Path absolute = file.toAbsolutePath();
+        // Written next to the target and renamed at the end, so a failed export never
+        // leaves a truncated file under the real name
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".part");
+        long rows = 0;
+
+        try {
+            try (Connection conn = DatabaseConfig.getConnection("ComplaintExporter.export");
+                 Writer out = open(temp)) {
+
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SET SESSION net_write_timeout = " + NET_WRITE_TIMEOUT_SECONDS);
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_EXPORT,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                    pstmt.setFetchSize(STREAMING_FETCH_SIZE);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (format == Format.CSV) {
+                            writeCsvHeader(out);
+                        }
+                        while (rs.next()) {
+                            if (format == Format.CSV) {
+                                writeCsvRow(out, rs);
+                            } else {
+                                writeJsonRow(out, rs);
+                            }
+                            if (++rows % PROGRESS_INTERVAL == 0) {
+                                progress.accept(rows);
+                            }
+                        }
+                    }
+                } finally {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("SET SESSION net_write_timeout = DEFAULT"); // the connection goes back to the pool
+                    }
+                }
+            }
+
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        progress.accept(rows);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new ExportResult(absolute, rows, Files.size(absolute), millis);
+    }
+
+    private Writer open(Path file) throws IOException {
+        OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static String valueOf(ResultSet rs, int column) throws SQLException {
+        if (column >= 8) { // created_at, updated_at, feedback_updated_at
+            Timestamp ts = rs.getTimestamp(column);
+            return ts != null ? ts.toLocalDateTime().toString() : null;
+        }
+        return rs.getString(column);
+    }
+
+    private static void writeCsvHeader(Writer out) throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write("\r\n");
+    }
+
+    private static void writeCsvRow(Writer out, ResultSet rs) throws SQLException, IOException {
+        for (int i = 1; i <= COLUMNS.length; i++) {
+            if (i > 1) out.write(',');
+            writeCsvField(out, valueOf(rs, i));
+        }
+        out.write("\r\n");
+    }
+
+    // RFC 4180: fields with commas, quotes or line breaks are quoted, quotes are doubled.
+    static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) return;
+
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(value);
+        }
+    }
+
+    private static void writeJsonRow(Writer out, ResultSet rs) throws SQLException, IOException {
+        out.write("{\"id\":");
+        out.write(Integer.toString(rs.getInt(1)));
+        for (int i = 2; i <= COLUMNS.length; i++) {
+            out.write(",\"");
+            out.write(COLUMNS[i - 1]);
+            out.write("\":");
+            writeJsonString(out, valueOf(rs, i));
+        }
+        out.write("}\n");
+    }
+
+    static void writeJsonString(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
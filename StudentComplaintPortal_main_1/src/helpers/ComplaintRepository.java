@@ -0,0 +1,70 @@
+package helpers;
+
+import models.BatchResult;
+import models.ChangeSet;
+import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.PageCursor;
+import models.SearchPage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Complaint storage as the screens see it. Implementations report failures the way
+// ComplaintDAO always has: false, null, an empty list or DashboardStats.EMPTY, never
+// an exception. Emails are matched case-insensitively.
+public interface ComplaintRepository {
+
+    // Starts as Pending; sets the new id on complaint
+    boolean insertComplaint(Complaint complaint);
+
+    boolean updateComplaint(Complaint complaint);
+
+    boolean deleteComplaint(int complaintId);
+
+    Complaint getComplaintById(int id);
+
+    // Newest first, like every list below
+    List<Complaint> getComplaintsByStudentEmail(String studentEmail);
+
+    List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail);
+
+    List<Complaint> getAllComplaints();
+
+    List<Complaint> getComplaintsByStatus(String status);
+
+    // Keyset paging; status null means all, after null means the first page
+    ComplaintPage getComplaintsPage(String status, PageCursor after, int limit);
+
+    // Every term must match, as a prefix; best match first
+    SearchPage searchComplaints(String query, String status, int offset, int limit);
+
+    int getTotalComplaintCount();
+
+    int getComplaintCountByStatus(String status);
+
+    int getComplaintCountByStudentEmail(String studentEmail);
+
+    int getResolvedComplaintCountByStudentEmail(String studentEmail);
+
+    DashboardStats getDashboardStats();
+
+    DashboardStats getStudentDashboardStats(String studentEmail);
+
+    boolean setComplaintStatus(int id, String status);
+
+    // null or blank clears it
+    boolean setComplaintFeedback(int id, String feedback);
+
+    BatchResult setComplaintStatusBatch(List<Integer> ids, String status);
+
+    BatchResult setComplaintFeedbackBatch(List<Integer> ids, String feedback);
+
+    BatchResult deleteComplaintsBatch(List<Integer> ids);
+
+    // Rows changed (inserted or updated) and ids deleted at or after since; more than
+    // limit of them together gives an incomplete set. since null only fetches a watermark.
+    ChangeSet getChangesSince(LocalDateTime since, int limit);
+}
@@ -0,0 +1,109 @@
+package helpers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over complaint text. ComplaintDAO uses it when the
+// FULLTEXT index can't answer a query: the index is missing, or a search term is
+// shorter than the server's minimum token size. Terms are matched as prefixes.
+// add() replaces any earlier version of a complaint, so the index is kept current row
+// by row instead of being rebuilt. Safe to use from several threads.
+public class ComplaintSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // A hit in the title counts more than one in the description or feedback
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+
+    // term -> (complaint id -> weighted hit count)
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    // complaint id -> its distinct terms, so a changed or deleted row can be taken out
+    private final Map<Integer, Set<String>> termsById = new HashMap<>();
+    private final Map<Integer, String> statusById = new HashMap<>();
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    public synchronized void add(int id, String status, String title, String description, String feedback) {
+        remove(id);
+        Set<String> terms = new HashSet<>();
+        statusById.put(id, status);
+        termsById.put(id, terms);
+        addTokens(id, title, TITLE_WEIGHT, terms);
+        addTokens(id, description, TEXT_WEIGHT, terms);
+        addTokens(id, feedback, TEXT_WEIGHT, terms);
+    }
+
+    private void addTokens(int id, String text, int weight, Set<String> terms) {
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, t -> new HashMap<>()).merge(id, weight, Integer::sum);
+            terms.add(token);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) return;
+        statusById.remove(id);
+        for (String term : terms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+
+    public synchronized int size() {
+        return statusById.size();
+    }
+
+    // Ids of complaints containing every term (as a prefix), best match first.
+    public synchronized List<Integer> search(List<String> terms, String status) {
+        Map<Integer, Integer> scores = null;
+        for (String term : terms) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            for (Map<Integer, Integer> posting : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                posting.forEach((id, hits) -> termScores.merge(id, hits, Integer::sum));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) break;
+        }
+        if (scores == null) return List.of();
+
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        if (status != null) {
+            ranked.removeIf(entry -> !status.equals(statusById.get(entry.getKey())));
+        }
+        ranked.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        List<Integer> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Integer, Integer> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+}
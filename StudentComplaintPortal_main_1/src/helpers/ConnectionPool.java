@@ -0,0 +1,376 @@
+package helpers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+// Bounded JDBC connection pool. Callers keep using try-with-resources:
+// close() on a borrowed connection hands it back to the pool instead of
+// closing the physical connection.
+public class ConnectionPool {
+
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    public record PoolStats(int active, int idle, int total, int waiters, int maxSize,
+                            long borrowCount, double avgBorrowMillis, double maxBorrowMillis,
+                            long created, long evicted, long validationFailures, long timeouts) {
+
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d total=%d/%d waiters=%d borrows=%d avgBorrow=%.3fms maxBorrow=%.3fms "
+                            + "created=%d evicted=%d invalid=%d timeouts=%d",
+                    active, idle, total, maxSize, waiters, borrowCount, avgBorrowMillis, maxBorrowMillis,
+                    created, evicted, validationFailures, timeouts);
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    // Guarded by lock. "total" also counts connections that are still being opened.
+    private int total;
+    private int active;
+    private int waiters;
+    private boolean closed;
+
+    private long borrowCount;
+    private long borrowNanosTotal;
+    private long borrowNanosMax;
+    private long created;
+    private long evicted;
+    private long validationFailures;
+    private long timeouts;
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, int minIdle, long maxWaitMillis,
+                          long idleTimeoutMillis, long validationIntervalMillis) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: max=" + maxSize + ", minIdle=" + minIdle);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens connections up to minIdle so the first queries don't pay the handshake.
+    public void warmUp() throws SQLException {
+        List<PooledConnection> opened = new ArrayList<>();
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    if (closed || idle.size() + opened.size() >= minIdle || total >= maxSize) break;
+                    total++;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    opened.add(new PooledConnection(factory.create()));
+                } catch (SQLException e) {
+                    release(null);
+                    throw e;
+                }
+            }
+        } finally {
+            lock.lock();
+            try {
+                for (PooledConnection pc : opened) {
+                    created++;
+                    idle.addFirst(pc);
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        return borrow(null);
+    }
+
+    // onReturn, if given, is told how long the caller held the connection, counted in
+    // nanoseconds from the borrow request until close().
+    public Connection borrow(LongConsumer onReturn) throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        while (true) {
+            PooledConnection candidate;
+            boolean mustCreate = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) throw new SQLException("Connection pool is closed");
+
+                    candidate = idle.pollFirst(); // most recently used first, it is the warmest
+                    if (candidate != null) {
+                        active++;
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        active++;
+                        mustCreate = true;
+                        break;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLTimeoutException("Timed out after " + maxWaitMillis
+                                + " ms waiting for a database connection (" + maxSize + " in use)");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mustCreate) {
+                try {
+                    candidate = new PooledConnection(factory.create());
+                } catch (SQLException | RuntimeException e) {
+                    lock.lock();
+                    try {
+                        active--;
+                    } finally {
+                        lock.unlock();
+                    }
+                    release(null);
+                    throw e;
+                }
+                lock.lock();
+                try {
+                    created++;
+                } finally {
+                    lock.unlock();
+                }
+            } else if (!validate(candidate)) {
+                lock.lock();
+                try {
+                    active--;
+                    validationFailures++;
+                } finally {
+                    lock.unlock();
+                }
+                release(candidate);
+                continue;
+            }
+
+            recordBorrow(System.nanoTime() - start);
+            return candidate.lease(start, onReturn);
+        }
+    }
+
+    private boolean validate(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsed < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return !pc.physical.isClosed() && pc.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordBorrow(long nanos) {
+        lock.lock();
+        try {
+            borrowCount++;
+            borrowNanosTotal += nanos;
+            if (nanos > borrowNanosMax) borrowNanosMax = nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called when a lease is closed.
+    private void giveBack(PooledConnection pc) {
+        boolean healthy;
+        try {
+            healthy = !pc.physical.isClosed();
+            if (healthy && !pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        lock.lock();
+        try {
+            active--;
+            if (healthy && !closed) {
+                pc.lastUsed = System.currentTimeMillis();
+                idle.addFirst(pc);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        release(pc);
+    }
+
+    // Drops a physical connection (or a failed creation slot when pc is null).
+    private void release(PooledConnection pc) {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (pc != null) closeQuietly(pc.physical);
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+            // Oldest connections sit at the tail of the deque.
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && total - expired.size() > minIdle) {
+                PooledConnection pc = it.next();
+                if (pc.lastUsed >= cutoff) break;
+                it.remove();
+                expired.add(pc);
+            }
+            evicted += expired.size();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : expired) {
+            release(pc);
+        }
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            double avg = borrowCount == 0 ? 0 : borrowNanosTotal / (double) borrowCount / 1_000_000.0;
+            return new PoolStats(active, idle.size(), total, waiters, maxSize,
+                    borrowCount, avg, borrowNanosMax / 1_000_000.0,
+                    created, evicted, validationFailures, timeouts);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            release(pc);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {}
+    }
+
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        // Each borrow gets its own handle so a stale reference can't return the
+        // connection twice or use it after it went back to the pool.
+        Connection lease(long borrowedAt, LongConsumer onReturn) {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean returned;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned) {
+                                returned = true;
+                                giveBack(PooledConnection.this);
+                                if (onReturn != null) onReturn.accept(System.nanoTime() - borrowedAt);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned || physical.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Pooled" + physical;
+                        default:
+                            if (returned) throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handler);
+        }
+    }
+}
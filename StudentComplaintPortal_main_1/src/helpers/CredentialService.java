@@ -0,0 +1,109 @@
+package helpers;
+
+import models.Student;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Password hashing and checking on a small dedicated pool. Hashing is CPU work by
+// design, so it gets a fixed number of platform threads (half the cores) instead of
+// AsyncService's virtual threads: a burst of logins queues up here rather than
+// starving the FX thread and the database calls. When the queue is full new requests
+// fail fast with RejectedExecutionException.
+//
+// The cost factor comes from -Dportal.password.iterations; benchmarks.PasswordHashBenchmark
+// shows what a value costs on the current machine.
+public class CredentialService {
+    private static final Logger LOG = Logger.getLogger(CredentialService.class.getName());
+
+    public static final int ITERATIONS = Integer.getInteger("portal.password.iterations", 310_000);
+
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int QUEUE_SIZE = 64;
+
+    private static final PasswordHasher hasher = new PasswordHasher(ITERATIONS);
+    private static final ExecutorService executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+    // Checked against when the email is unknown, so a miss costs as long as a wrong password
+    private static volatile String dummyHash;
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static CompletableFuture<String> hash(String password) {
+        return CompletableFuture.supplyAsync(() -> hasher.hash(password), executor);
+    }
+
+    public static CompletableFuture<Boolean> verify(String password, String stored) {
+        return CompletableFuture.supplyAsync(() -> hasher.verify(password, stored), executor);
+    }
+
+    // Loads the student once and checks the password; completes with null for an unknown
+    // email or a wrong password. A correct password stored in plain text or with an older
+    // cost is rehashed and saved in the background, so rows upgrade as people log in.
+    // students must hold the hashes, so this runs where the storage is: in the app for
+    // the mysql and embedded backends, in main.PortalServer for remote clients.
+    public static CompletableFuture<Student> authenticate(StudentRepository students, String email, String password) {
+        return AsyncService.supply(() -> students.findStudentByEmail(email))
+                .thenApplyAsync(student -> {
+                    if (student == null) {
+                        hasher.verify(password, dummyHash());
+                        return null;
+                    }
+                    if (!hasher.verify(password, student.getPassword())) {
+                        return null;
+                    }
+                    if (hasher.needsRehash(student.getPassword())) {
+                        rehash(students, student, password);
+                    }
+                    return student;
+                }, executor);
+    }
+
+    private static void rehash(StudentRepository students, Student student, String password) {
+        String previous = student.getPassword();
+        hash(password).thenAcceptAsync(hashed -> {
+            // Only replaces the value that was verified, never a password changed meanwhile
+            if (students.updatePassword(student.getEmail(), previous, hashed)) {
+                student.setPassword(hashed);
+                LOG.log(Level.FINE, "Password hash upgraded email={0}", student.getEmail());
+            }
+        }, AsyncService::execute).exceptionally(error -> {
+            LOG.log(Level.WARNING, "Could not upgrade password hash: {0}", error.getMessage());
+            return null;
+        });
+    }
+
+    private static String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hasher.hash("not a real password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    // Call at startup: makes the dummy hash, which also gets the JIT going, before the
+    // first real login has to wait for it.
+    public static void warmUp() {
+        executor.execute(CredentialService::dummyHash);
+    }
+
+    public static void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,145 +1,164 @@
 package helpers;
 
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class DatabaseConfig {
+    private static final Logger LOG = Logger.getLogger(DatabaseConfig.class.getName());
+
     private static final String DB_HOST = "localhost";
     private static final String DB_PORT = "3306";
-    private static final String DB_NAME = "student_complaint_portal";
+    // -Dportal.db.name points the app (or a benchmark run) at another database
+    private static final String DB_NAME = System.getProperty("portal.db.name", "student_complaint_portal");
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";
 
+    // Prepared statement caching. Server-side statements are parsed and planned once per
+    // connection; the driver's cache keeps them open across close() so pooled connections
+    // reuse them. Start with -Dportal.db.statementCache=false to compare without it.
+    private static final boolean STATEMENT_CACHE = Boolean.parseBoolean(System.getProperty("portal.db.statementCache", "true"));
+    private static final int STATEMENT_CACHE_SIZE = 250;
+    private static final int STATEMENT_CACHE_SQL_LIMIT = 2048;
+
     private static final String DB_URL = "jdbc:mysql://" + DB_HOST + ":" + DB_PORT + "/" + DB_NAME +
-            "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useUnicode=true&characterEncoding=utf8";
+            "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useUnicode=true&characterEncoding=utf8" +
+            "&rewriteBatchedStatements=true" +
+            (STATEMENT_CACHE ? "&useServerPrepStmts=true&cachePrepStmts=true" +
+                    "&prepStmtCacheSize=" + STATEMENT_CACHE_SIZE + "&prepStmtCacheSqlLimit=" + STATEMENT_CACHE_SQL_LIMIT : "");
     private static final String DB_URL_WITHOUT_DB = "jdbc:mysql://" + DB_HOST + ":" + DB_PORT +
             "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useUnicode=true&characterEncoding=utf8";
 
+    // Connection pool settings
+    private static final int POOL_MAX_SIZE = 10;
+    private static final int POOL_MIN_IDLE = 2;
+    private static final long POOL_MAX_WAIT_MILLIS = 5_000;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long POOL_VALIDATION_INTERVAL_MILLIS = 5_000;
+
+    private static final ConnectionPool pool = new ConnectionPool(DatabaseConfig::openConnection,
+            POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_MAX_WAIT_MILLIS,
+            POOL_IDLE_TIMEOUT_MILLIS, POOL_VALIDATION_INTERVAL_MILLIS);
+
+    // How long a query waits for startup (connect + migrations) before giving up
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+    private static final int ER_BAD_DB = 1049;
+
+    private static volatile CompletableFuture<Integer> startup;
+
+    private static final Metrics.Timer ACQUIRE_TIMER = Metrics.timer("db.connection.acquire");
+
     public static Connection getConnection() throws SQLException {
+        awaitStartup();
+        long start = System.nanoTime();
+        Connection conn = pool.borrow();
+        ACQUIRE_TIMER.recordSince(start);
+        return conn;
+    }
+
+    // Same, and records the time from borrow to close() under the operation's timer
+    // (e.g. "ComplaintDAO.getComplaintById"), so each DAO method gets its own histogram.
+    public static Connection getConnection(String operation) throws SQLException {
+        awaitStartup();
+        Metrics.Timer timer = Metrics.timer(operation);
+        long start = System.nanoTime();
+        Connection conn = pool.borrow(timer::record);
+        ACQUIRE_TIMER.recordSince(start);
+        return conn;
+    }
+
+    // Opens a new physical connection; only the pool should call this.
+    private static Connection openConnection() throws SQLException {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            if (STATEMENT_CACHE) {
+                StatementCache.prepare(conn);
+            }
+            return conn;
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL JDBC Driver not found", e);
         }
     }
 
-    public static void initializeDatabase() {
-        System.out.println("🔄 Initializing database...");
-
-        // Ensure database exists
-        try (Connection conn = DriverManager.getConnection(DB_URL_WITHOUT_DB, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement()) {
-
-            stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DB_NAME + " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
-            System.out.println("✅ Database ensured");
-        } catch (SQLException e) {
-            System.err.println("❌ Error creating database: " + e.getMessage());
-            return;
-        }
-
-        // Create tables with proper status enum
-        createTables();
+    public static String getDatabaseName() {
+        return DB_NAME;
     }
 
-    private static void createTables() {
-        String createStudentsTable = """
-            CREATE TABLE IF NOT EXISTS students (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(100) NOT NULL,
-                student_id VARCHAR(50) UNIQUE NOT NULL,
-                department VARCHAR(100) NOT NULL,
-                mobile VARCHAR(15) NOT NULL,
-                email VARCHAR(100) UNIQUE NOT NULL,
-                password VARCHAR(255) NOT NULL,
-                profile_picture LONGBLOB NULL,
-                profile_picture_mime VARCHAR(100) NULL,
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                INDEX idx_email (email),
-                INDEX idx_student_id (student_id)
-            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-        """;
-
-        // FIXED: Proper status enum with exact values
-        String createComplaintsTable = """
-            CREATE TABLE IF NOT EXISTS complaints (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                title VARCHAR(200) NOT NULL,
-                description TEXT NOT NULL,
-                category ENUM('Academic', 'Facility', 'Admin', 'Other') NOT NULL,
-                status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending',
-                feedback TEXT NULL,
-                feedback_updated_at TIMESTAMP NULL DEFAULT NULL,
-                student_email VARCHAR(100) NOT NULL,
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                INDEX idx_student_email (student_email),
-                INDEX idx_status (status),
-                INDEX idx_category (category),
-                FOREIGN KEY (student_email) REFERENCES students(email) ON DELETE CASCADE ON UPDATE CASCADE
-            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-        """;
-
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
 
-            stmt.executeUpdate(createStudentsTable);
-            stmt.executeUpdate(createComplaintsTable);
-            System.out.println("✅ Tables created successfully");
+    public static void shutdown() {
+        LOG.log(Level.INFO, "Connection pool closing {0}", pool.getStats());
+        pool.close();
+    }
 
-            // Fix existing status column if needed
-            fixStatusColumn(stmt);
-            
-            insertSampleData(stmt);
-        } catch (SQLException e) {
-            System.err.println("❌ Error creating tables: " + e.getMessage());
+    // Connects, creates the database if it is missing and applies pending schema
+    // migrations on a background thread. Safe to call more than once; every caller
+    // gets the same future, completed with the schema version.
+    public static CompletableFuture<Integer> startup() {
+        CompletableFuture<Integer> future = startup;
+        if (future == null) {
+            synchronized (DatabaseConfig.class) {
+                future = startup;
+                if (future == null) {
+                    future = CompletableFuture.supplyAsync(DatabaseConfig::bootstrap,
+                            task -> Thread.ofVirtual().name("database-startup").start(task));
+                    startup = future;
+                }
+            }
         }
+        return future;
     }
 
-    private static void fixStatusColumn(Statement stmt) {
+    private static int bootstrap() {
+        long start = System.nanoTime();
         try {
-            // Update the status column to ensure it has the correct ENUM values
-            stmt.executeUpdate("ALTER TABLE complaints MODIFY COLUMN status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending'");
-            System.out.println("✅ Status column updated with correct ENUM values");
+            try {
+                pool.warmUp();
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_BAD_DB) throw e;
+                createDatabase();
+                pool.warmUp();
+            }
+
+            int version = new SchemaMigrator(pool::borrow).migrate();
+            LOG.log(Level.INFO, "Database ready schemaVersion={0} ms={1,number,0}",
+                    new Object[]{version, (System.nanoTime() - start) / 1_000_000.0});
+            return version;
         } catch (SQLException e) {
-            System.out.println("ℹ️ Status column already correct or table doesn't exist yet");
+            LOG.log(Level.SEVERE, "Database connection failed: {0}", e.getMessage());
+            throw new CompletionException(e);
         }
     }
 
-    private static void insertSampleData(Statement stmt) {
-        try {
-            // Check if sample data already exists
-            var rs = stmt.executeQuery("SELECT COUNT(*) FROM students WHERE email = 'test@student.com'");
-            if (rs.next() && rs.getInt(1) == 0) {
-                stmt.executeUpdate("""
-                    INSERT INTO students (name, student_id, department, mobile, email, password) 
-                    VALUES ('Test Student', 'TEST001', 'Computer Science', '1234567890', 'test@student.com', 'test123')
-                """);
-                System.out.println("✅ Sample student inserted");
-            }
-            
-            rs = stmt.executeQuery("SELECT COUNT(*) FROM complaints");
-            if (rs.next() && rs.getInt(1) == 0) {
-                stmt.executeUpdate("""
-                    INSERT INTO complaints (title, description, category, student_email, status) 
-                    VALUES 
-                    ('Sample Complaint', 'This is a sample complaint', 'Academic', 'test@student.com', 'Pending'),
-                    ('Course Registration Issue', 'Registration blocked due to error', 'Academic', 'test@student.com', 'In Progress'),
-                    ('Library Access Problem', 'Cannot access library resources', 'Admin', 'test@student.com', 'Resolved')
-                """);
-                System.out.println("✅ Sample complaints inserted");
-            }
-        } catch (SQLException e) {
-            System.out.println("ℹ️ Sample data insertion skipped or already present");
+    private static void createDatabase() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(DB_URL_WITHOUT_DB, DB_USER, DB_PASSWORD);
+             Statement stmt = conn.createStatement()) {
+
+            stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DB_NAME + " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
+            LOG.log(Level.INFO, "Database created name={0}", DB_NAME);
         }
     }
 
-    public static boolean testConnection() {
-        try (Connection conn = getConnection()) {
-            System.out.println("✅ Database connection successful");
-            return true;
-        } catch (SQLException e) {
-            System.err.println("❌ Database connection failed: " + e.getMessage());
-            return false;
+    private static void awaitStartup() throws SQLException {
+        try {
+            startup().get(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            throw new SQLException("Database is not available: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new SQLTimeoutException("Timed out waiting for the database to start");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database to start", e);
         }
     }
 }
@@ -0,0 +1,956 @@
+package helpers;
+
+import models.BatchResult;
+import models.ChangeSet;
+import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.IdentityCheck;
+import models.PageCursor;
+import models.SearchPage;
+import models.Student;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Students and complaints kept in memory, for installs without a MySQL server. Rows
+// are indexed the way the MySQL tables are (by email, student ID, status and recency),
+// so the screens' queries are lookups and ordered walks, never scans. Every change is
+// appended to a journal before it is applied; opening the store replays the journal,
+// and a journal that has grown well past the live data is rewritten as a snapshot.
+//
+//   <dir>/store.journal   one record per line, tab-separated:
+//     S  name  student_id  department  mobile  email  password  profile_image
+//     C  id  title  description  category  status  student_email  feedback  created_at  updated_at
+//     D  id
+//   <dir>/images/         profile pictures, see ProfileImageStore
+//   <dir>/store.lock      held while the store is open, so a second process fails fast
+//
+// S and C records hold the whole row (insert or update), D deletes a complaint. Writes
+// are flushed to the OS on every change; -Dportal.embedded.sync=true also forces them
+// to disk. Readers share a lock, writers take it exclusively.
+public class EmbeddedStore implements ComplaintRepository, StudentRepository {
+    private static final Logger LOG = Logger.getLogger(EmbeddedStore.class.getName());
+
+    private static final boolean SYNC = Boolean.getBoolean("portal.embedded.sync");
+    private static final String JOURNAL = "store.journal";
+    private static final String LOCK = "store.lock";
+    private static final String NULL = "\\N";
+    // Rewrite the journal once it holds this many more records than there are rows
+    private static final int COMPACT_SLACK = 10_000;
+
+    // One complaints row; created_at never changes, so recency order is stable
+    private static final class Row {
+        int id;
+        String title;
+        String description;
+        String category;
+        String status;
+        String studentEmail;
+        String feedback;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+    }
+
+    private static final Comparator<Row> NEWEST_FIRST =
+            Comparator.comparing((Row r) -> r.createdAt).thenComparingInt(r -> r.id).reversed();
+    private static final Comparator<Row> OLDEST_CHANGE_FIRST =
+            Comparator.comparing((Row r) -> r.updatedAt).thenComparingInt(r -> r.id);
+
+    private final Path dir;
+    private final ProfileImageStore images;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Student> studentsByEmail = new HashMap<>();
+    private final Map<String, String> emailByStudentId = new HashMap<>();
+    private final TreeMap<Integer, Row> complaintsById = new TreeMap<>();
+    private final NavigableSet<Row> byRecency = new TreeSet<>(NEWEST_FIRST);
+    private final Map<String, NavigableSet<Row>> byStudent = new HashMap<>();
+    private final Map<String, NavigableSet<Row>> byStatus = new HashMap<>();
+    private final NavigableSet<Row> byUpdated = new TreeSet<>(OLDEST_CHANGE_FIRST);
+    // Deleted complaint id -> when, in deletion order. Only deletes since open() are
+    // known; the journal does not record when a D record was written.
+    private final LinkedHashMap<Integer, LocalDateTime> tombstones = new LinkedHashMap<>();
+    private LocalDateTime openedAt;
+    private int lastId;
+    private long journalRecords;
+    // Built on the first search, then kept current by putComplaint and removeComplaint
+    private volatile ComplaintSearchIndex searchIndex;
+    private Writer journal;
+    private FileChannel journalChannel;
+    private FileChannel lockChannel;
+
+    private volatile CompletableFuture<Void> opened;
+
+    public EmbeddedStore(Path dir) {
+        this.dir = dir;
+        this.images = new ProfileImageStore(dir.resolve("images"));
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    // Replays the journal on a background thread. Safe to call more than once; calls
+    // made before it finishes wait for it.
+    public CompletableFuture<Void> open() {
+        CompletableFuture<Void> future = opened;
+        if (future == null) {
+            synchronized (this) {
+                future = opened;
+                if (future == null) {
+                    future = CompletableFuture.runAsync(this::load,
+                            task -> Thread.ofVirtual().name("embedded-store-open").start(task));
+                    opened = future;
+                }
+            }
+        }
+        return future;
+    }
+
+    private boolean awaitOpen() {
+        try {
+            open().join();
+            return true;
+        } catch (CompletionException e) {
+            LOG.log(Level.WARNING, "Embedded store is not available: {0}", e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(dir);
+            lockDirectory();
+            Path file = dir.resolve(JOURNAL);
+            if (Files.exists(file)) {
+                try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    int lineNumber = 0;
+                    while ((line = in.readLine()) != null) {
+                        lineNumber++;
+                        if (line.isEmpty()) continue;
+                        try {
+                            apply(split(line));
+                            journalRecords++;
+                        } catch (RuntimeException e) {
+                            // Most likely the last write before a crash; the rest is still good
+                            LOG.log(Level.WARNING, "Skipping unreadable journal line={0} error={1}",
+                                    new Object[]{lineNumber, e.toString()});
+                        }
+                    }
+                }
+            }
+            openJournal(file);
+            compactIfNeeded();
+            openedAt = now();
+            LOG.log(Level.INFO, "Embedded store ready dir={0} students={1,number,#} complaints={2,number,#} ms={3,number,0}",
+                    new Object[]{dir, studentsByEmail.size(), complaintsById.size(), (System.nanoTime() - start) / 1_000_000.0});
+        } catch (IOException e) {
+            closeJournal();
+            unlockDirectory();
+            throw new CompletionException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Two processes appending to one journal would interleave records, so only one may
+    // have the directory open. The OS drops the lock if this process dies.
+    private void lockDirectory() throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock held;
+        try {
+            held = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            held = null; // another EmbeddedStore in this JVM
+        }
+        if (held == null) {
+            channel.close();
+            throw new IOException("The embedded store in " + dir + " is already open in another process");
+        }
+        lockChannel = channel;
+    }
+
+    private void unlockDirectory() {
+        if (lockChannel == null) return;
+        try {
+            lockChannel.close(); // releases the lock
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not release the store lock: {0}", e.getMessage());
+        }
+        lockChannel = null;
+    }
+
+    private void openJournal(Path file) throws IOException {
+        journalChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // A crash can leave half a line; start the next record on a line of its own
+        long size = journalChannel.size();
+        if (size > 0) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+                reader.read(last, size - 1);
+            }
+            if (last.get(0) != '\n') {
+                journalChannel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+        journal = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(journalChannel), StandardCharsets.UTF_8));
+    }
+
+    // Writes fail (and report it) while the journal is closed
+    private void closeJournal() {
+        Writer current = journal;
+        journal = null;
+        journalChannel = null;
+        if (current == null) return;
+        try {
+            current.close();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not close the journal: {0}", e.getMessage());
+        }
+    }
+
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closeJournal();
+            unlockDirectory();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- journal records ----
+
+    private static String escape(String value) {
+        if (value == null) return NULL;
+        StringBuilder out = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        for (String raw : line.split("\t", -1)) {
+            if (raw.equals(NULL)) {
+                fields.add(null);
+                continue;
+            }
+            StringBuilder value = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c == '\\' && i + 1 < raw.length()) {
+                    char next = raw.charAt(++i);
+                    value.append(switch (next) {
+                        case 't' -> '\t';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        default -> next;
+                    });
+                } else {
+                    value.append(c);
+                }
+            }
+            fields.add(value.toString());
+        }
+        return fields;
+    }
+
+    private static String record(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) line.append('\t');
+            line.append(i == 0 ? fields[0] : escape(fields[i]));
+        }
+        return line.append('\n').toString();
+    }
+
+    private static String studentRecord(Student s) {
+        return record("S", s.getName(), s.getStudentId(), s.getDepartment(), s.getMobile(), s.getEmail(),
+                s.getPassword(), s.getProfileImage());
+    }
+
+    private static String complaintRecord(Row r) {
+        return record("C", String.valueOf(r.id), r.title, r.description, r.category, r.status, r.studentEmail,
+                r.feedback, r.createdAt.toString(), r.updatedAt.toString());
+    }
+
+    private static String deleteRecord(int id) {
+        return record("D", String.valueOf(id));
+    }
+
+    // Replays one record into memory
+    private void apply(List<String> f) {
+        switch (f.get(0)) {
+            case "S" -> {
+                Student s = new Student(f.get(1), f.get(2), f.get(3), f.get(4), f.get(5), f.get(6));
+                s.setProfileImage(f.get(7));
+                putStudent(s);
+            }
+            case "C" -> {
+                Row r = new Row();
+                r.id = Integer.parseInt(f.get(1));
+                r.title = f.get(2);
+                r.description = f.get(3);
+                r.category = f.get(4);
+                r.status = f.get(5);
+                r.studentEmail = f.get(6);
+                r.feedback = f.get(7);
+                r.createdAt = LocalDateTime.parse(f.get(8));
+                r.updatedAt = LocalDateTime.parse(f.get(9));
+                putComplaint(r);
+            }
+            case "D" -> removeComplaint(Integer.parseInt(f.get(1)));
+            default -> throw new IllegalArgumentException("Unknown record type " + f.get(0));
+        }
+    }
+
+    // Appends records and makes them durable before the caller changes memory. On
+    // failure nothing has been applied and the caller reports it as a failed write.
+    private boolean write(String... records) {
+        if (journal == null) return false;
+        try {
+            for (String record : records) {
+                journal.write(record);
+            }
+            journal.flush();
+            if (SYNC) journalChannel.force(false);
+            journalRecords += records.length;
+            return true;
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "Could not write to the journal: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        long live = studentsByEmail.size() + complaintsById.size();
+        if (journalRecords <= 2 * live + COMPACT_SLACK) return;
+
+        long start = System.nanoTime();
+        Path file = dir.resolve(JOURNAL);
+        Path temp = dir.resolve(JOURNAL + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+            for (Student s : studentsByEmail.values()) {
+                out.write(studentRecord(s));
+            }
+            // Keeps the id counter: a deleted last id must not be handed out again
+            Row last = complaintsById.isEmpty() ? null : complaintsById.lastEntry().getValue();
+            for (Row r : complaintsById.values()) {
+                out.write(complaintRecord(r));
+            }
+            if (last == null || last.id < lastId) {
+                Row marker = new Row();
+                marker.id = lastId;
+                marker.title = marker.description = marker.category = marker.status = marker.studentEmail = "";
+                marker.createdAt = marker.updatedAt = LocalDateTime.now();
+                out.write(complaintRecord(marker));
+                out.write(deleteRecord(lastId));
+            }
+            out.flush();
+            channel.force(true);
+        }
+
+        // Windows cannot replace a file that is open, so the journal is closed for the
+        // move and reopened on the old file if the move fails
+        closeJournal();
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            openJournal(file);
+            throw e;
+        }
+        long before = journalRecords;
+        journalRecords = live;
+        openJournal(file);
+        LOG.log(Level.INFO, "Compacted journal records={0,number,#} to {1,number,#} ms={2,number,0}",
+                new Object[]{before, live, (System.nanoTime() - start) / 1_000_000.0});
+    }
+
+    private void afterWrite() {
+        try {
+            compactIfNeeded();
+        } catch (IOException e) {
+            // The old journal is still complete; try again after the next write
+            LOG.log(Level.WARNING, "Could not compact the journal: {0}", e.getMessage());
+        }
+    }
+
+    // ---- in-memory tables; callers hold the write lock ----
+
+    private static String key(String email) {
+        return email == null ? null : email.toLowerCase().trim();
+    }
+
+    private void putStudent(Student s) {
+        Student previous = studentsByEmail.put(s.getEmail(), s);
+        if (previous != null) emailByStudentId.remove(previous.getStudentId());
+        emailByStudentId.put(s.getStudentId(), s.getEmail());
+    }
+
+    private void putComplaint(Row r) {
+        removeComplaint(r.id);
+        complaintsById.put(r.id, r);
+        byRecency.add(r);
+        byUpdated.add(r);
+        byStudent.computeIfAbsent(r.studentEmail, k -> new TreeSet<>(NEWEST_FIRST)).add(r);
+        byStatus.computeIfAbsent(r.status, k -> new TreeSet<>(NEWEST_FIRST)).add(r);
+        lastId = Math.max(lastId, r.id);
+        if (searchIndex != null) searchIndex.add(r.id, r.status, r.title, r.description, r.feedback);
+    }
+
+    private Row removeComplaint(int id) {
+        Row r = complaintsById.remove(id);
+        if (r != null) {
+            byRecency.remove(r);
+            byUpdated.remove(r);
+            byStudent.get(r.studentEmail).remove(r);
+            byStatus.get(r.status).remove(r);
+            if (searchIndex != null) searchIndex.remove(id);
+        }
+        return r;
+    }
+
+    private void tombstone(int id) {
+        LocalDateTime deletedAt = now();
+        tombstones.put(id, deletedAt);
+        LocalDateTime horizon = deletedAt.minusDays(ComplaintDAO.TOMBSTONE_RETENTION_DAYS);
+        var oldest = tombstones.values().iterator();
+        while (oldest.hasNext() && oldest.next().isBefore(horizon)) oldest.remove();
+    }
+
+    private static Row copy(Row r) {
+        Row c = new Row();
+        c.id = r.id;
+        c.title = r.title;
+        c.description = r.description;
+        c.category = r.category;
+        c.status = r.status;
+        c.studentEmail = r.studentEmail;
+        c.feedback = r.feedback;
+        c.createdAt = r.createdAt;
+        c.updatedAt = r.updatedAt;
+        return c;
+    }
+
+    private static Complaint toComplaint(Row r) {
+        Complaint c = new Complaint();
+        c.setId(r.id);
+        c.setTitle(r.title);
+        c.setDescription(r.description);
+        c.setCategory(r.category);
+        c.setStatus(r.status);
+        c.setStudentEmail(r.studentEmail);
+        c.setFeedback(r.feedback);
+        c.setCreatedAt(r.createdAt);
+        return c;
+    }
+
+    private static ComplaintSummary toSummary(Row r) {
+        ComplaintSummary s = new ComplaintSummary();
+        s.setId(r.id);
+        s.setTitle(r.title);
+        s.setCategory(r.category);
+        s.setStatus(r.status);
+        s.setStudentEmail(r.studentEmail);
+        s.setFeedbackPreview(ComplaintDAO.previewOf(r.feedback));
+        s.setCreatedAt(r.createdAt);
+        s.setUpdatedAt(r.updatedAt);
+        return s;
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().withNano(0); // TIMESTAMP precision, like the MySQL rows
+    }
+
+    private <T> T read(Function<EmbeddedStore, T> query, T fallback) {
+        if (!awaitOpen()) return fallback;
+        lock.readLock().lock();
+        try {
+            return query.apply(this);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T change(Function<EmbeddedStore, T> update, T fallback) {
+        if (!awaitOpen()) return fallback;
+        lock.writeLock().lock();
+        try {
+            T result = update.apply(this);
+            afterWrite();
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <T> List<T> map(Iterable<Row> rows, Function<Row, T> mapper) {
+        List<T> out = new ArrayList<>();
+        for (Row r : rows) out.add(mapper.apply(r));
+        return out;
+    }
+
+    private NavigableSet<Row> rowsOf(Map<String, NavigableSet<Row>> index, String key) {
+        NavigableSet<Row> rows = index.get(key);
+        return rows != null ? rows : new TreeSet<>(NEWEST_FIRST);
+    }
+
+    // ---- StudentRepository ----
+
+    @Override
+    public boolean insertStudent(Student student) {
+        return change(store -> {
+            Student s = new Student(student);
+            s.setEmail(key(s.getEmail()));
+            if (s.getEmail() == null || s.getStudentId() == null || s.getPassword() == null) return false;
+            if (studentsByEmail.containsKey(s.getEmail()) || emailByStudentId.containsKey(s.getStudentId())) return false;
+            if (!write(studentRecord(s))) return false;
+            putStudent(s);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public Student findStudentByEmail(String email) {
+        return read(store -> {
+            Student s = studentsByEmail.get(key(email));
+            return s == null ? null : new Student(s);
+        }, null);
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        return change(store -> {
+            Student current = studentsByEmail.get(key(student.getEmail()));
+            if (current == null) return false;
+            String owner = emailByStudentId.get(student.getStudentId());
+            if (owner != null && !owner.equals(current.getEmail())) return false; // UNIQUE student_id
+
+            Student s = new Student(current);
+            s.setName(student.getName());
+            s.setStudentId(student.getStudentId());
+            s.setDepartment(student.getDepartment());
+            s.setMobile(student.getMobile());
+            if (!write(studentRecord(s))) return false;
+            putStudent(s);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public boolean updatePassword(String email, String expected, String password) {
+        return change(store -> {
+            Student current = studentsByEmail.get(key(email));
+            if (current == null || !current.getPassword().equals(expected)) return false;
+            Student s = new Student(current);
+            s.setPassword(password);
+            if (!write(studentRecord(s))) return false;
+            putStudent(s);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public boolean setProfileImage(String email, String image) {
+        return change(store -> {
+            Student current = studentsByEmail.get(key(email));
+            if (current == null) return false;
+            Student s = new Student(current);
+            s.setProfileImage(image);
+            if (!write(studentRecord(s))) return false;
+            putStudent(s);
+            return true;
+        }, false);
+    }
+
+    // Image files are written once and never changed, so they need no lock
+    @Override
+    public String saveProfileImage(byte[] image) {
+        try {
+            ProfileImageStore.Picture picture = ProfileImageStore.prepare(image);
+            images.save(picture);
+            return picture.hash();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not save profile image: {0}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getProfileThumbnail(String hash) {
+        return images.thumbnail(hash);
+    }
+
+    @Override
+    public IdentityCheck checkIdentity(String email, String studentId) {
+        return read(store -> new IdentityCheck(studentsByEmail.containsKey(key(email)),
+                emailByStudentId.containsKey(studentId)), new IdentityCheck(false, false));
+    }
+
+    @Override
+    public boolean isEmailExists(String email) {
+        return read(store -> studentsByEmail.containsKey(key(email)), false);
+    }
+
+    @Override
+    public boolean isStudentIdExists(String studentId) {
+        return read(store -> emailByStudentId.containsKey(studentId), false);
+    }
+
+    @Override
+    public int getTotalStudentCount() {
+        return read(store -> studentsByEmail.size(), 0);
+    }
+
+    // ---- ComplaintRepository ----
+
+    @Override
+    public boolean insertComplaint(Complaint complaint) {
+        return change(store -> {
+            String email = key(complaint.getStudentEmail());
+            if (!studentsByEmail.containsKey(email)) return false; // the foreign key
+            if (complaint.getTitle() == null || complaint.getDescription() == null
+                    || !InputValidator.CATEGORIES.contains(complaint.getCategory())) return false;
+
+            Row r = new Row();
+            r.id = lastId + 1;
+            r.title = complaint.getTitle();
+            r.description = complaint.getDescription();
+            r.category = complaint.getCategory();
+            r.status = "Pending"; // Always start as Pending
+            r.studentEmail = email;
+            r.createdAt = r.updatedAt = now();
+            if (!write(complaintRecord(r))) return false;
+            putComplaint(r);
+            complaint.setId(r.id);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public boolean updateComplaint(Complaint complaint) {
+        return change(store -> {
+            Row current = complaintsById.get(complaint.getId());
+            if (current == null || !InputValidator.CATEGORIES.contains(complaint.getCategory())
+                    || !InputValidator.isValidStatus(complaint.getStatus())) return false;
+
+            Row r = copy(current);
+            r.title = complaint.getTitle();
+            r.description = complaint.getDescription();
+            r.category = complaint.getCategory();
+            r.status = complaint.getStatus().trim();
+            r.updatedAt = now();
+            if (!write(complaintRecord(r))) return false;
+            putComplaint(r);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public boolean deleteComplaint(int complaintId) {
+        return change(store -> {
+            if (!complaintsById.containsKey(complaintId) || !write(deleteRecord(complaintId))) return false;
+            removeComplaint(complaintId);
+            tombstone(complaintId);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public Complaint getComplaintById(int id) {
+        return read(store -> {
+            Row r = complaintsById.get(id);
+            return r == null ? null : toComplaint(r);
+        }, null);
+    }
+
+    @Override
+    public List<Complaint> getComplaintsByStudentEmail(String studentEmail) {
+        return read(store -> map(rowsOf(byStudent, key(studentEmail)), EmbeddedStore::toComplaint), new ArrayList<>());
+    }
+
+    @Override
+    public List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail) {
+        return read(store -> map(rowsOf(byStudent, key(studentEmail)), EmbeddedStore::toSummary), new ArrayList<>());
+    }
+
+    @Override
+    public List<Complaint> getAllComplaints() {
+        return read(store -> map(byRecency, EmbeddedStore::toComplaint), new ArrayList<>());
+    }
+
+    @Override
+    public List<Complaint> getComplaintsByStatus(String status) {
+        return read(store -> map(rowsOf(byStatus, status), EmbeddedStore::toComplaint), new ArrayList<>());
+    }
+
+    @Override
+    public ComplaintPage getComplaintsPage(String status, PageCursor after, int limit) {
+        return read(store -> {
+            NavigableSet<Row> rows = status != null ? rowsOf(byStatus, status) : byRecency;
+            if (after != null) {
+                Row position = new Row();
+                position.id = after.id();
+                position.createdAt = after.createdAt();
+                rows = rows.tailSet(position, false);
+            }
+
+            List<ComplaintSummary> items = new ArrayList<>(limit);
+            PageCursor next = null;
+            for (Row r : rows) {
+                if (items.size() == limit) {
+                    ComplaintSummary last = items.get(limit - 1);
+                    next = new PageCursor(last.getCreatedAt(), last.getId());
+                    break;
+                }
+                items.add(toSummary(r));
+            }
+            return new ComplaintPage(items, next);
+        }, new ComplaintPage(new ArrayList<>(), null));
+    }
+
+    @Override
+    public SearchPage searchComplaints(String query, String status, int offset, int limit) {
+        List<String> terms = ComplaintSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchPage(new ArrayList<>(), -1);
+        }
+        if (!awaitOpen()) return new SearchPage(new ArrayList<>(), -1);
+
+        if (searchIndex == null) {
+            lock.writeLock().lock();
+            try {
+                if (searchIndex == null) {
+                    ComplaintSearchIndex index = new ComplaintSearchIndex();
+                    for (Row r : complaintsById.values()) {
+                        index.add(r.id, r.status, r.title, r.description, r.feedback);
+                    }
+                    searchIndex = index;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        return read(store -> {
+            List<Integer> ids = searchIndex.search(terms, status);
+            List<ComplaintSummary> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(ids.size(), offset + limit); i++) {
+                Row r = complaintsById.get(ids.get(i));
+                if (r != null) items.add(toSummary(r));
+            }
+            return new SearchPage(items, offset + limit < ids.size() ? offset + limit : -1);
+        }, new SearchPage(new ArrayList<>(), -1));
+    }
+
+    @Override
+    public int getTotalComplaintCount() {
+        return read(store -> complaintsById.size(), 0);
+    }
+
+    @Override
+    public int getComplaintCountByStatus(String status) {
+        return read(store -> rowsOf(byStatus, status).size(), 0);
+    }
+
+    @Override
+    public int getComplaintCountByStudentEmail(String studentEmail) {
+        return read(store -> rowsOf(byStudent, key(studentEmail)).size(), 0);
+    }
+
+    @Override
+    public int getResolvedComplaintCountByStudentEmail(String studentEmail) {
+        return read(store -> {
+            int resolved = 0;
+            for (Row r : rowsOf(byStudent, key(studentEmail))) {
+                if (r.status.equals("Resolved")) resolved++;
+            }
+            return resolved;
+        }, 0);
+    }
+
+    @Override
+    public DashboardStats getDashboardStats() {
+        return read(store -> new DashboardStats(studentsByEmail.size(), complaintsById.size(),
+                rowsOf(byStatus, "Pending").size(), rowsOf(byStatus, "In Progress").size(),
+                rowsOf(byStatus, "Resolved").size()), DashboardStats.EMPTY);
+    }
+
+    @Override
+    public DashboardStats getStudentDashboardStats(String studentEmail) {
+        return read(store -> {
+            int pending = 0, inProgress = 0, resolved = 0;
+            NavigableSet<Row> rows = rowsOf(byStudent, key(studentEmail));
+            for (Row r : rows) {
+                switch (r.status) {
+                    case "Pending" -> pending++;
+                    case "In Progress" -> inProgress++;
+                    case "Resolved" -> resolved++;
+                    default -> {}
+                }
+            }
+            return new DashboardStats(1, rows.size(), pending, inProgress, resolved);
+        }, DashboardStats.EMPTY);
+    }
+
+    @Override
+    public boolean setComplaintStatus(int id, String status) {
+        if (!InputValidator.isValidStatus(status)) {
+            LOG.log(Level.WARNING, "Invalid status: {0}", status);
+            return false;
+        }
+        return change(store -> updateRows(List.of(id), r -> r.status = status.trim()).failed().isEmpty(), false);
+    }
+
+    @Override
+    public boolean setComplaintFeedback(int id, String feedback) {
+        String stored = feedback == null || feedback.isBlank() ? null : feedback;
+        return change(store -> updateRows(List.of(id), r -> r.feedback = stored).failed().isEmpty(), false);
+    }
+
+    @Override
+    public BatchResult setComplaintStatusBatch(List<Integer> ids, String status) {
+        if (!InputValidator.isValidStatus(status)) {
+            return new BatchResult(List.of(), List.copyOf(ids), "Invalid status: " + status);
+        }
+        return change(store -> updateRows(ids, r -> r.status = status.trim()), failedBatch(ids));
+    }
+
+    @Override
+    public BatchResult setComplaintFeedbackBatch(List<Integer> ids, String feedback) {
+        String stored = feedback == null || feedback.isBlank() ? null : feedback;
+        return change(store -> updateRows(ids, r -> r.feedback = stored), failedBatch(ids));
+    }
+
+    @Override
+    public BatchResult deleteComplaintsBatch(List<Integer> ids) {
+        return change(store -> {
+            List<Integer> succeeded = new ArrayList<>();
+            List<Integer> failed = new ArrayList<>();
+            List<String> records = new ArrayList<>();
+            for (int id : ids) {
+                if (complaintsById.containsKey(id) && !succeeded.contains(id)) {
+                    succeeded.add(id);
+                    records.add(deleteRecord(id));
+                } else {
+                    failed.add(id);
+                }
+            }
+            if (!write(records.toArray(String[]::new))) return failedBatch(ids);
+            for (int id : succeeded) {
+                removeComplaint(id);
+                tombstone(id);
+            }
+            return new BatchResult(succeeded, failed, null);
+        }, failedBatch(ids));
+    }
+
+    // Writers hold the lock, so nothing can change in the second being read that a
+    // later call from this watermark will not see; the watermark needs no overlap window.
+    @Override
+    public ChangeSet getChangesSince(LocalDateTime since, int limit) {
+        return read(store -> {
+            LocalDateTime watermark = now();
+            if (since == null) return new ChangeSet(List.of(), List.of(), watermark, true);
+            if (since.isBefore(openedAt) || since.isBefore(watermark.minusDays(ComplaintDAO.TOMBSTONE_RETENTION_DAYS))) {
+                return new ChangeSet(List.of(), List.of(), watermark, false);
+            }
+
+            Row from = new Row();
+            from.updatedAt = since;
+            from.id = Integer.MIN_VALUE;
+            List<ComplaintSummary> changed = new ArrayList<>();
+            for (Row r : byUpdated.tailSet(from, true)) {
+                if (changed.size() == limit) return new ChangeSet(List.of(), List.of(), watermark, false);
+                changed.add(toSummary(r));
+            }
+            List<Integer> deleted = new ArrayList<>();
+            for (Map.Entry<Integer, LocalDateTime> t : tombstones.sequencedEntrySet().reversed()) {
+                if (t.getValue().isBefore(since)) break;
+                if (changed.size() + deleted.size() == limit) return new ChangeSet(List.of(), List.of(), watermark, false);
+                deleted.add(t.getKey());
+            }
+            return new ChangeSet(changed, deleted, watermark, true);
+        }, new ChangeSet(List.of(), List.of(), since, true));
+    }
+
+    private interface RowUpdate {
+        void apply(Row row);
+    }
+
+    // All-or-nothing like the MySQL batch: every record is written before any row changes
+    private BatchResult updateRows(List<Integer> ids, RowUpdate update) {
+        List<Integer> succeeded = new ArrayList<>();
+        List<Integer> failed = new ArrayList<>();
+        List<Row> updated = new ArrayList<>();
+        LocalDateTime now = now();
+        for (int id : ids) {
+            Row current = complaintsById.get(id);
+            if (current == null) {
+                failed.add(id);
+                continue;
+            }
+            Row r = copy(current);
+            update.apply(r);
+            r.updatedAt = now;
+            updated.add(r);
+            succeeded.add(id);
+        }
+        if (!write(updated.stream().map(EmbeddedStore::complaintRecord).toArray(String[]::new))) {
+            return failedBatch(ids);
+        }
+        for (Row r : updated) putComplaint(r);
+        return new BatchResult(succeeded, failed, null);
+    }
+
+    private static BatchResult failedBatch(List<Integer> ids) {
+        return new BatchResult(List.of(), List.copyOf(ids), "Could not write to the embedded store");
+    }
+}
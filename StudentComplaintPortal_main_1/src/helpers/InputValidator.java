@@ -0,0 +1,93 @@
+package helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Field rules shared by the sign-up form and the bulk importer, so a row that
+// imports cleanly is one the form would also have accepted. Stateless and safe
+// to call from many threads.
+public final class InputValidator {
+
+    public static final List<String> CATEGORIES = List.of("Academic", "Facility", "Admin", "Other");
+    public static final List<String> STATUSES = List.of("Pending", "In Progress", "Resolved");
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern DIGITS = Pattern.compile("^\\d+$");
+
+    private InputValidator() {}
+
+    public static boolean isValidEmail(String email) {
+        return EMAIL.matcher(email).matches();
+    }
+
+    public static boolean isDigits(String value) {
+        return DIGITS.matcher(value).matches();
+    }
+
+    public static boolean isValidStatus(String status) {
+        return status != null && STATUSES.contains(status.trim());
+    }
+
+    // Expects trimmed values (passwords as typed). Returns one message per problem.
+    public static List<String> validateStudent(String name, String studentId, String department, String mobile,
+                                               String email, String password, String confirmPassword) {
+        List<String> issues = new ArrayList<>();
+
+        if (name.isEmpty()) issues.add("Full Name is required.");
+        if (studentId.isEmpty()) issues.add("Student ID is required.");
+        if (department.isEmpty()) issues.add("Department is required.");
+
+        if (mobile.isEmpty()) {
+            issues.add("Mobile Number is required.");
+        } else {
+            if (!isDigits(mobile)) issues.add("Mobile Number must contain digits only.");
+            if (mobile.length() < 7 || mobile.length() > 15) issues.add("Mobile Number must be 7 to 15 digits long.");
+        }
+
+        if (email.isEmpty()) {
+            issues.add("Email Address is required.");
+        } else if (!isValidEmail(email)) {
+            issues.add("Email Address format is invalid.");
+        }
+
+        if (password.isEmpty()) {
+            issues.add("Password is required.");
+        } else if (password.length() < 6) {
+            issues.add("Password must be at least 6 characters long.");
+        }
+
+        if (!password.equals(confirmPassword)) {
+            issues.add("Passwords do not match.");
+        }
+
+        // Column limits from the students table
+        if (name.length() > 100) issues.add("Full Name must be at most 100 characters.");
+        if (studentId.length() > 50) issues.add("Student ID must be at most 50 characters.");
+        if (department.length() > 100) issues.add("Department must be at most 100 characters.");
+        if (email.length() > 100) issues.add("Email Address must be at most 100 characters.");
+
+        return issues;
+    }
+
+    // status may be null, meaning Pending.
+    public static List<String> validateComplaint(String title, String description, String category,
+                                                 String studentEmail, String status) {
+        List<String> issues = new ArrayList<>();
+
+        if (title.isEmpty()) issues.add("Title is required.");
+        else if (title.length() > 200) issues.add("Title must be at most 200 characters.");
+        if (description.isEmpty()) issues.add("Description is required.");
+        if (!CATEGORIES.contains(category)) issues.add("Category must be one of " + CATEGORIES + ".");
+
+        if (studentEmail.isEmpty()) {
+            issues.add("Student email is required.");
+        } else if (!isValidEmail(studentEmail)) {
+            issues.add("Student email format is invalid.");
+        }
+
+        if (status != null && !isValidStatus(status)) issues.add("Status must be one of " + STATUSES + ".");
+
+        return issues;
+    }
+}
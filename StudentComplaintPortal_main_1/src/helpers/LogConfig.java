@@ -0,0 +1,78 @@
+package helpers;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// java.util.logging setup for the app: one line per record,
+//   2026-01-31 14:02:11.482 INFO    [SceneSwitcher] Switched scene file=LoginScene.fxml ms=12.3
+// Messages use {0}-style parameters, so nothing is formatted for records below the
+// level. The level comes from -Dportal.log.level (default INFO; FINE shows every DAO
+// error detail and scene switch). A -Djava.util.logging.config.file wins over all this.
+public final class LogConfig {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private static boolean configured;
+
+    private LogConfig() {}
+
+    public static synchronized void configure() {
+        if (configured || System.getProperty("java.util.logging.config.file") != null) return;
+        configured = true;
+
+        Level level;
+        try {
+            level = Level.parse(System.getProperty("portal.log.level", "INFO").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            level = Level.INFO;
+        }
+
+        Logger root = LogManager.getLogManager().getLogger("");
+        for (Handler handler : root.getHandlers()) {
+            root.removeHandler(handler);
+        }
+        ConsoleHandler console = new ConsoleHandler();
+        console.setFormatter(new LineFormatter());
+        console.setLevel(level);
+        root.addHandler(console);
+        root.setLevel(level);
+    }
+
+    static final class LineFormatter extends Formatter {
+
+        @Override
+        public String format(LogRecord record) {
+            StringBuilder line = new StringBuilder(128)
+                    .append(TIME.format(record.getInstant()))
+                    .append(' ')
+                    .append(String.format("%-7s", record.getLevel().getName()))
+                    .append(" [")
+                    .append(simpleName(record.getLoggerName()))
+                    .append("] ")
+                    .append(formatMessage(record))
+                    .append(System.lineSeparator());
+
+            if (record.getThrown() != null) {
+                StringWriter trace = new StringWriter();
+                record.getThrown().printStackTrace(new PrintWriter(trace));
+                line.append(trace);
+            }
+            return line.toString();
+        }
+
+        private static String simpleName(String loggerName) {
+            if (loggerName == null) return "root";
+            return loggerName.substring(loggerName.lastIndexOf('.') + 1);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package helpers;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Latency timers for DAO calls, connection borrows, FXML loads and scene switches.
+// Each timer is a log-linear histogram (16 buckets per power of two, so percentiles
+// are within about 6%) kept in atomic counters: recording never locks or allocates.
+//
+// Timers are registered as MXBeans under portal:type=Timer, so jconsole or VisualVM
+// can watch them live, and a background thread logs a summary every
+// -Dportal.metrics.dumpSeconds (default 60, 0 turns it off). -Dportal.metrics=false
+// turns recording off altogether.
+public final class Metrics {
+
+    private static final Logger LOG = Logger.getLogger(Metrics.class.getName());
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("portal.metrics", "true"));
+    private static final long DUMP_SECONDS = Long.getLong("portal.metrics.dumpSeconds", 60);
+
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reporter;
+
+    private Metrics() {}
+
+    public interface TimerMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getMaxMillis();
+        double getP50Millis();
+        double getP90Millis();
+        double getP99Millis();
+        double getP999Millis();
+        void reset();
+    }
+
+    public record Snapshot(String name, long count, double meanMillis, double p50Millis, double p90Millis,
+                           double p99Millis, double p999Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%s count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+                    name, count, meanMillis, p50Millis, p90Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+
+    public static final class Timer implements TimerMXBean {
+        private static final int SUB_BITS = 4;
+        private static final int SUB = 1 << SUB_BITS;
+        private static final long MAX_MICROS = (1L << 40) - 1; // about 12 days
+        private static final int BUCKETS = bucket(MAX_MICROS) + 1;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void record(long nanos) {
+            if (!ENABLED) return;
+            long micros = Math.min(MAX_MICROS, Math.max(0, nanos / 1000));
+            buckets.incrementAndGet(bucket(micros));
+            totalMicros.add(micros);
+            long max;
+            while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+                // retry
+            }
+        }
+
+        // For the usual "long start = System.nanoTime(); ...; timer.recordSince(start)"
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        // Values below 16 us get a bucket each; above that, 16 buckets per power of two
+        static int bucket(long micros) {
+            if (micros < SUB) return (int) micros;
+            int exp = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        static long lowerBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1;
+            return (long) (SUB + bucket % SUB) << (exp - SUB_BITS);
+        }
+
+        static long width(int bucket) {
+            return bucket < SUB ? 1 : 1L << (bucket / SUB - 1);
+        }
+
+        public Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                count += counts[i];
+            }
+            double max = maxMicros.get() / 1000.0;
+            double mean = count == 0 ? 0 : totalMicros.sum() / 1000.0 / count;
+            return new Snapshot(name, count, mean,
+                    percentile(counts, count, 0.50, max), percentile(counts, count, 0.90, max),
+                    percentile(counts, count, 0.99, max), percentile(counts, count, 0.999, max), max);
+        }
+
+        // Middle of the bucket holding the requested rank, never above the observed max
+        private static double percentile(long[] counts, long count, double quantile, double maxMillis) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    double middle = (lowerBound(i) + (width(i) - 1) / 2.0) / 1000.0;
+                    return Math.min(middle, maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+
+        @Override public long getCount() { return snapshot().count(); }
+        @Override public double getMeanMillis() { return snapshot().meanMillis(); }
+        @Override public double getMaxMillis() { return snapshot().maxMillis(); }
+        @Override public double getP50Millis() { return snapshot().p50Millis(); }
+        @Override public double getP90Millis() { return snapshot().p90Millis(); }
+        @Override public double getP99Millis() { return snapshot().p99Millis(); }
+        @Override public double getP999Millis() { return snapshot().p999Millis(); }
+
+        @Override
+        public void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            totalMicros.reset();
+            maxMicros.set(0);
+        }
+    }
+
+    // Returns the timer with this name, creating and registering it on first use.
+    // Callers on hot paths should keep the Timer in a field.
+    public static Timer timer(String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, Metrics::register);
+    }
+
+    private static Timer register(String name) {
+        Timer timer = new Timer(name);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(timer, new ObjectName("portal:type=Timer,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            LOG.log(Level.WARNING, "Could not register timer with JMX name={0} error={1}", new Object[]{name, e.getMessage()});
+        }
+        return timer;
+    }
+
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Timer timer : timers.values()) {
+            Snapshot snapshot = timer.snapshot();
+            if (snapshot.count() > 0) snapshots.add(snapshot);
+        }
+        snapshots.sort(Comparator.comparing(Snapshot::name));
+        return snapshots;
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder("Timers (" + Backend.describe() + ")");
+        for (Snapshot snapshot : snapshot()) {
+            report.append(System.lineSeparator()).append("  ").append(snapshot);
+        }
+        return report.toString();
+    }
+
+    // Starts the periodic dump; safe to call more than once.
+    public static synchronized void startReporter() {
+        if (reporter != null || !ENABLED || DUMP_SECONDS <= 0) return;
+        reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(Metrics::dump, DUMP_SECONDS, DUMP_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public static void dump() {
+        if (ENABLED && LOG.isLoggable(Level.INFO)) {
+            LOG.info(report());
+        }
+    }
+
+    // Stops the periodic dump and logs a last one.
+    public static synchronized void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        dump();
+    }
+}
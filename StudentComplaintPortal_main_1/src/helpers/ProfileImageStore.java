@@ -0,0 +1,183 @@
+package helpers;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Profile pictures, named by the SHA-256 of their bytes. The students row only keeps
+// the 64-character hash, so loading a student never moves image data, and the same
+// picture uploaded twice is stored once. prepare() checks an upload and makes its
+// thumbnail; where the bytes live is up to the StudentRepository:
+//
+//   MySQL     the profile_images table, shared by every client
+//   embedded  files under <dir>/images, in the layout below
+//   remote    whatever the server uses
+//
+//   <root>/ab/ab12...ef            original bytes
+//   <root>/ab/ab12...ef.thumb.png  thumbnail
+//
+// Files are never modified after they are written, which makes concurrent readers safe
+// without locking.
+public class ProfileImageStore {
+    private static final Logger LOG = Logger.getLogger(ProfileImageStore.class.getName());
+
+    public static final int THUMBNAIL_SIZE = 160;
+    public static final long MAX_IMAGE_BYTES = 10L * 1024 * 1024;
+
+    // A checked picture, ready to store
+    public record Picture(String hash, byte[] image, byte[] thumbnail) {}
+
+    private final Path root;
+
+    public ProfileImageStore(Path root) {
+        this.root = root;
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && value.matches("[0-9a-f]{64}");
+    }
+
+    // Reads an upload, refusing files over MAX_IMAGE_BYTES before loading them
+    public static byte[] readUpload(Path file) throws IOException {
+        if (Files.size(file) > MAX_IMAGE_BYTES) {
+            throw new IOException("Image is larger than " + MAX_IMAGE_BYTES / (1024 * 1024) + " MB");
+        }
+        return Files.readAllBytes(file);
+    }
+
+    // Checks size and that ImageIO can decode the bytes, and makes the thumbnail
+    public static Picture prepare(byte[] image) throws IOException {
+        if (image.length > MAX_IMAGE_BYTES) {
+            throw new IOException("Image is larger than " + MAX_IMAGE_BYTES / (1024 * 1024) + " MB");
+        }
+        BufferedImage thumb = scaled(image);
+        if (thumb == null) {
+            throw new IOException("Not a supported image");
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(thumb, "png", png);
+        return new Picture(hashOf(image), image, png.toByteArray());
+    }
+
+    public static String hashOf(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // ---- files ----
+
+    private Path original(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path thumbnailFile(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ".thumb.png");
+    }
+
+    public void save(Picture picture) throws IOException {
+        write(original(picture.hash()), picture.image());
+        write(thumbnailFile(picture.hash()), picture.thumbnail());
+    }
+
+    private static void write(Path target, byte[] bytes) throws IOException {
+        if (Files.exists(target)) return;
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Someone stored the same picture at the same moment
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The thumbnail, made from the original if only that is on disk; null if the hash
+    // is unknown or the original cannot be decoded
+    public byte[] thumbnail(String hash) {
+        if (!isHash(hash)) return null;
+        try {
+            Path thumb = thumbnailFile(hash);
+            if (Files.exists(thumb)) return Files.readAllBytes(thumb);
+            Picture picture = load(hash);
+            if (picture == null) return null;
+            write(thumb, picture.thumbnail());
+            return picture.thumbnail();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read thumbnail image={0} error={1}", new Object[]{hash, e.getMessage()});
+            return null;
+        }
+    }
+
+    // The stored original with a fresh thumbnail, or null if it is not here
+    public Picture load(String hash) {
+        if (!isHash(hash)) return null;
+        Path source = original(hash);
+        if (!Files.exists(source)) return null;
+        try {
+            return prepare(Files.readAllBytes(source));
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read image={0} error={1}", new Object[]{hash, e.getMessage()});
+            return null;
+        }
+    }
+
+    // Decodes with subsampling so a large photo is never fully expanded in memory,
+    // then scales to fit THUMBNAIL_SIZE. null when no ImageIO reader understands it.
+    private static BufferedImage scaled(byte[] source) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = iis != null ? ImageIO.getImageReaders(iis) : null;
+            if (readers == null || !readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.min(width, height) / (THUMBNAIL_SIZE * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                double scale = Math.min(1.0, (double) THUMBNAIL_SIZE / Math.max(decoded.getWidth(), decoded.getHeight()));
+                int w = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+                int h = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+
+                BufferedImage thumb = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = thumb.createGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                    g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    g.drawImage(decoded, 0, 0, w, h, null);
+                } finally {
+                    g.dispose();
+                }
+                return thumb;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
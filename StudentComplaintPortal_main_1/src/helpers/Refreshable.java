@@ -0,0 +1,11 @@
+package helpers;
+
+// Implemented by controllers whose scene is kept and reused between visits.
+// initialize() only wires up the UI once; onShow() runs every time the scene is
+// shown and should load fresh data and reset any state left from the last visit;
+// onHide() runs when another scene replaces it and should stop anything periodic.
+public interface Refreshable {
+    void onShow();
+
+    default void onHide() {}
+}
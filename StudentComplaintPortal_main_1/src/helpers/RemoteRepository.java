@@ -0,0 +1,379 @@
+package helpers;
+
+import models.BatchResult;
+import models.ChangeSet;
+import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.IdentityCheck;
+import models.PageCursor;
+import models.SearchPage;
+import models.Student;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Both repositories over HTTP, against a main.PortalServer (see RepositoryApi for the
+// wire format). The server holds the database connections and the caches; this side
+// only keeps one HttpClient, whose connections are reused between calls. Failures are
+// logged and answered like the DAOs answer them: false, null, empty or EMPTY.
+public class RemoteRepository implements ComplaintRepository, StudentRepository {
+    private static final Logger LOG = Logger.getLogger(RemoteRepository.class.getName());
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final String token;
+    private final HttpClient client;
+
+    private volatile CompletableFuture<Void> opened;
+
+    // token is the server's -Dportal.server.token, or null when it has none
+    public RemoteRepository(URI baseUri, String token) {
+        String base = baseUri.toString();
+        this.baseUri = URI.create(base.endsWith("/") ? base : base + "/");
+        this.token = token;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    // Checks that the server answers, on a background thread. Calls made before it
+    // finishes wait for it.
+    public CompletableFuture<Void> open() {
+        CompletableFuture<Void> future = opened;
+        if (future == null) {
+            synchronized (this) {
+                future = opened;
+                if (future == null) {
+                    future = CompletableFuture.runAsync(this::checkHealth,
+                            task -> Thread.ofVirtual().name("remote-repository-open").start(task));
+                    opened = future;
+                }
+            }
+        }
+        return future;
+    }
+
+    private void checkHealth() {
+        HttpRequest request = request("api/health").GET().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                throw new CompletionException(new IOException("Server answered " + response.statusCode() + ": " + response.body()));
+            }
+            LOG.log(Level.INFO, "Connected to portal server url={0} {1}", new Object[]{baseUri, response.body()});
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    public void close() {
+        client.close();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    // One API call: the "result" field mapped by decode, or fallback if anything fails
+    private <T> T call(String repository, String method, Map<String, Object> args, Function<Object, T> decode, T fallback) {
+        String operation = repository + "/" + method;
+        long start = System.nanoTime();
+        try {
+            open().join();
+            HttpRequest request = request("api/" + operation)
+                    .header("Content-Type", "application/json; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(Json.write(args), StandardCharsets.UTF_8))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                LOG.log(Level.WARNING, "Server call failed operation={0} status={1,number,#} body={2}",
+                        new Object[]{operation, response.statusCode(), response.body()});
+                return fallback;
+            }
+            if (!(Json.parse(response.body()) instanceof Map<?, ?> body) || !body.containsKey("result")) {
+                throw new IllegalArgumentException("Response has no result");
+            }
+            return decode.apply(body.get("result"));
+        } catch (IOException | CompletionException | IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "Server call failed operation={0} error={1}", new Object[]{operation, e.toString()});
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } finally {
+            Metrics.timer("remote." + repository + "." + method).recordSince(start);
+        }
+    }
+
+    private static Map<String, Object> args(Object... namesAndValues) {
+        Map<String, Object> args = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            args.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return args;
+    }
+
+    private <T> T complaints(String method, Map<String, Object> args, Function<Object, T> decode, T fallback) {
+        return call(RepositoryApi.COMPLAINTS, method, args, decode, fallback);
+    }
+
+    private <T> T students(String method, Map<String, Object> args, Function<Object, T> decode, T fallback) {
+        return call(RepositoryApi.STUDENTS, method, args, decode, fallback);
+    }
+
+    private static boolean bool(Object result) {
+        return Boolean.TRUE.equals(result);
+    }
+
+    // The decoders below and RepositoryApi's throw IllegalArgumentException for a result
+    // that is missing or of the wrong type, which call() reports as a failed call
+
+    private static int integer(Object result) {
+        if (!(result instanceof Number n)) throw new IllegalArgumentException("Expected a number, got " + result);
+        return n.intValue();
+    }
+
+    private static String text(Object result) {
+        if (result != null && !(result instanceof String)) throw new IllegalArgumentException("Expected a string, got " + result);
+        return (String) result;
+    }
+
+    private static Map<?, ?> object(Object result) {
+        if (!(result instanceof Map<?, ?> map)) throw new IllegalArgumentException("Expected an object, got " + result);
+        return map;
+    }
+
+    // ---- ComplaintRepository ----
+
+    @Override
+    public boolean insertComplaint(Complaint complaint) {
+        Integer id = complaints("insertComplaint", args("complaint", RepositoryApi.toJson(complaint)),
+                result -> result == null ? null : integer(result), null);
+        if (id == null) return false;
+        complaint.setId(id);
+        return true;
+    }
+
+    @Override
+    public boolean updateComplaint(Complaint complaint) {
+        return complaints("updateComplaint", args("complaint", RepositoryApi.toJson(complaint)), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public boolean deleteComplaint(int complaintId) {
+        return complaints("deleteComplaint", args("complaintId", complaintId), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public Complaint getComplaintById(int id) {
+        return complaints("getComplaintById", args("id", id),
+                result -> result == null ? null : RepositoryApi.complaintFrom(object(result)), null);
+    }
+
+    @Override
+    public List<Complaint> getComplaintsByStudentEmail(String studentEmail) {
+        return complaints("getComplaintsByStudentEmail", args("studentEmail", studentEmail),
+                RepositoryApi::complaintsFrom, new ArrayList<>());
+    }
+
+    @Override
+    public List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail) {
+        return complaints("getComplaintSummariesByStudentEmail", args("studentEmail", studentEmail),
+                RepositoryApi::summariesFrom, new ArrayList<>());
+    }
+
+    @Override
+    public List<Complaint> getAllComplaints() {
+        return complaints("getAllComplaints", args(), RepositoryApi::complaintsFrom, new ArrayList<>());
+    }
+
+    @Override
+    public List<Complaint> getComplaintsByStatus(String status) {
+        return complaints("getComplaintsByStatus", args("status", status), RepositoryApi::complaintsFrom, new ArrayList<>());
+    }
+
+    @Override
+    public ComplaintPage getComplaintsPage(String status, PageCursor after, int limit) {
+        return complaints("getComplaintsPage", args("status", status, "after", RepositoryApi.toJson(after), "limit", limit),
+                result -> RepositoryApi.complaintPageFrom(object(result)), new ComplaintPage(new ArrayList<>(), null));
+    }
+
+    @Override
+    public SearchPage searchComplaints(String query, String status, int offset, int limit) {
+        return complaints("searchComplaints", args("query", query, "status", status, "offset", offset, "limit", limit),
+                result -> RepositoryApi.searchPageFrom(object(result)), new SearchPage(new ArrayList<>(), -1));
+    }
+
+    @Override
+    public int getTotalComplaintCount() {
+        return complaints("getTotalComplaintCount", args(), RemoteRepository::integer, 0);
+    }
+
+    @Override
+    public int getComplaintCountByStatus(String status) {
+        return complaints("getComplaintCountByStatus", args("status", status), RemoteRepository::integer, 0);
+    }
+
+    @Override
+    public int getComplaintCountByStudentEmail(String studentEmail) {
+        return complaints("getComplaintCountByStudentEmail", args("studentEmail", studentEmail), RemoteRepository::integer, 0);
+    }
+
+    @Override
+    public int getResolvedComplaintCountByStudentEmail(String studentEmail) {
+        return complaints("getResolvedComplaintCountByStudentEmail", args("studentEmail", studentEmail),
+                RemoteRepository::integer, 0);
+    }
+
+    @Override
+    public DashboardStats getDashboardStats() {
+        return complaints("getDashboardStats", args(), result -> RepositoryApi.statsFrom(object(result)), DashboardStats.EMPTY);
+    }
+
+    @Override
+    public DashboardStats getStudentDashboardStats(String studentEmail) {
+        return complaints("getStudentDashboardStats", args("studentEmail", studentEmail),
+                result -> RepositoryApi.statsFrom(object(result)), DashboardStats.EMPTY);
+    }
+
+    @Override
+    public boolean setComplaintStatus(int id, String status) {
+        return complaints("setComplaintStatus", args("id", id, "status", status), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public boolean setComplaintFeedback(int id, String feedback) {
+        return complaints("setComplaintFeedback", args("id", id, "feedback", feedback), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public BatchResult setComplaintStatusBatch(List<Integer> ids, String status) {
+        return complaints("setComplaintStatusBatch", args("ids", ids, "status", status),
+                result -> RepositoryApi.batchFrom(object(result)), failedBatch(ids));
+    }
+
+    @Override
+    public BatchResult setComplaintFeedbackBatch(List<Integer> ids, String feedback) {
+        return complaints("setComplaintFeedbackBatch", args("ids", ids, "feedback", feedback),
+                result -> RepositoryApi.batchFrom(object(result)), failedBatch(ids));
+    }
+
+    @Override
+    public BatchResult deleteComplaintsBatch(List<Integer> ids) {
+        return complaints("deleteComplaintsBatch", args("ids", ids),
+                result -> RepositoryApi.batchFrom(object(result)), failedBatch(ids));
+    }
+
+    @Override
+    public ChangeSet getChangesSince(LocalDateTime since, int limit) {
+        return complaints("getChangesSince", args("since", since, "limit", limit),
+                result -> RepositoryApi.changeSetFrom(object(result)), new ChangeSet(List.of(), List.of(), since, true));
+    }
+
+    private static BatchResult failedBatch(List<Integer> ids) {
+        return new BatchResult(List.of(), List.copyOf(ids), "Could not reach the portal server");
+    }
+
+    // ---- StudentRepository ----
+
+    // student's password must already be hashed; only the server ever sees it again
+    @Override
+    public boolean insertStudent(Student student) {
+        return students("insertStudent", args("student", RepositoryApi.toJson(student), "password", student.getPassword()),
+                RemoteRepository::bool, false);
+    }
+
+    // The student comes back without a password
+    @Override
+    public Student findStudentByEmail(String email) {
+        return students("findStudentByEmail", args("email", email),
+                result -> result == null ? null : RepositoryApi.studentFrom(object(result)), null);
+    }
+
+    // The server checks the password (see CredentialService.authenticate); null for an
+    // unknown email, a wrong password or a failed call
+    public Student authenticate(String email, String password) {
+        return students("authenticate", args("email", email, "password", password),
+                result -> result == null ? null : RepositoryApi.studentFrom(object(result)), null);
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        return students("updateStudent", args("student", RepositoryApi.toJson(student)), RemoteRepository::bool, false);
+    }
+
+    // Not served: password hashes only change on the server, when authenticate upgrades one
+    @Override
+    public boolean updatePassword(String email, String expected, String password) {
+        LOG.warning("updatePassword is not available on the remote backend");
+        return false;
+    }
+
+    @Override
+    public boolean setProfileImage(String email, String image) {
+        return students("setProfileImage", args("email", email, "image", image), RemoteRepository::bool, false);
+    }
+
+    // The server checks the picture and makes the thumbnail
+    @Override
+    public String saveProfileImage(byte[] image) {
+        return students("saveProfileImage", args("image", RepositoryApi.base64(image)), RemoteRepository::text, null);
+    }
+
+    @Override
+    public byte[] getProfileThumbnail(String hash) {
+        return students("getProfileThumbnail", args("hash", hash),
+                result -> result == null ? null : Base64.getDecoder().decode(text(result)), null);
+    }
+
+    @Override
+    public IdentityCheck checkIdentity(String email, String studentId) {
+        return students("checkIdentity", args("email", email, "studentId", studentId),
+                result -> RepositoryApi.identityFrom(object(result)), new IdentityCheck(false, false));
+    }
+
+    @Override
+    public boolean isEmailExists(String email) {
+        return students("isEmailExists", args("email", email), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public boolean isStudentIdExists(String studentId) {
+        return students("isStudentIdExists", args("studentId", studentId), RemoteRepository::bool, false);
+    }
+
+    @Override
+    public int getTotalStudentCount() {
+        return students("getTotalStudentCount", args(), RemoteRepository::integer, 0);
+    }
+}
@@ -0,0 +1,431 @@
+package helpers;
+
+import models.BatchResult;
+import models.ChangeSet;
+import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.IdentityCheck;
+import models.PageCursor;
+import models.SearchPage;
+import models.Student;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The HTTP/JSON API main.PortalServer serves and RemoteRepository calls. Every
+// repository method is one endpoint:
+//
+//   POST /api/complaints/<method>   body: {"<parameter>": value, ...}
+//   POST /api/students/<method>     response: {"result": value}
+//
+// Parameters are named as in ComplaintRepository and StudentRepository, models are
+// objects with their property names, dates are ISO-8601 strings and byte arrays
+// (profile pictures) are base64 strings. insertComplaint answers with the new id
+// (null on failure) instead of true, so the caller can set it.
+//
+// Password hashes never leave the server: students are sent without them and
+// updatePassword is not an endpoint. students/authenticate checks a password there,
+// rehash on login included, and answers with the student or null. insertStudent takes
+// the new student's hash as a separate "password" parameter.
+public final class RepositoryApi {
+
+    public static final String COMPLAINTS = "complaints";
+    public static final String STUDENTS = "students";
+
+    // Thrown for a call the API cannot serve; the server answers 400 or 404
+    public static class BadRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean unknownMethod;
+
+        public BadRequestException(String message, boolean unknownMethod) {
+            super(message);
+            this.unknownMethod = unknownMethod;
+        }
+
+        public boolean isUnknownMethod() {
+            return unknownMethod;
+        }
+    }
+
+    private interface Endpoint {
+        Object call(Map<String, Object> args);
+    }
+
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+
+    public RepositoryApi(ComplaintRepository complaints, StudentRepository students) {
+        complaint("insertComplaint", a -> {
+            Complaint c = complaintFrom(object(a, "complaint"));
+            return complaints.insertComplaint(c) ? c.getId() : null;
+        });
+        complaint("updateComplaint", a -> complaints.updateComplaint(complaintFrom(object(a, "complaint"))));
+        complaint("deleteComplaint", a -> complaints.deleteComplaint(integer(a, "complaintId")));
+        complaint("getComplaintById", a -> toJson(complaints.getComplaintById(integer(a, "id"))));
+        complaint("getComplaintsByStudentEmail", a -> complaintsToJson(complaints.getComplaintsByStudentEmail(string(a, "studentEmail"))));
+        complaint("getComplaintSummariesByStudentEmail", a -> summariesToJson(complaints.getComplaintSummariesByStudentEmail(string(a, "studentEmail"))));
+        complaint("getAllComplaints", a -> complaintsToJson(complaints.getAllComplaints()));
+        complaint("getComplaintsByStatus", a -> complaintsToJson(complaints.getComplaintsByStatus(string(a, "status"))));
+        complaint("getComplaintsPage", a -> toJson(complaints.getComplaintsPage(string(a, "status"),
+                cursorFrom(object(a, "after")), integer(a, "limit"))));
+        complaint("searchComplaints", a -> toJson(complaints.searchComplaints(string(a, "query"), string(a, "status"),
+                integer(a, "offset"), integer(a, "limit"))));
+        complaint("getTotalComplaintCount", a -> complaints.getTotalComplaintCount());
+        complaint("getComplaintCountByStatus", a -> complaints.getComplaintCountByStatus(string(a, "status")));
+        complaint("getComplaintCountByStudentEmail", a -> complaints.getComplaintCountByStudentEmail(string(a, "studentEmail")));
+        complaint("getResolvedComplaintCountByStudentEmail", a -> complaints.getResolvedComplaintCountByStudentEmail(string(a, "studentEmail")));
+        complaint("getDashboardStats", a -> toJson(complaints.getDashboardStats()));
+        complaint("getStudentDashboardStats", a -> toJson(complaints.getStudentDashboardStats(string(a, "studentEmail"))));
+        complaint("setComplaintStatus", a -> complaints.setComplaintStatus(integer(a, "id"), string(a, "status")));
+        complaint("setComplaintFeedback", a -> complaints.setComplaintFeedback(integer(a, "id"), string(a, "feedback")));
+        complaint("setComplaintStatusBatch", a -> toJson(complaints.setComplaintStatusBatch(integers(a, "ids"), string(a, "status"))));
+        complaint("setComplaintFeedbackBatch", a -> toJson(complaints.setComplaintFeedbackBatch(integers(a, "ids"), string(a, "feedback"))));
+        complaint("deleteComplaintsBatch", a -> toJson(complaints.deleteComplaintsBatch(integers(a, "ids"))));
+        complaint("getChangesSince", a -> toJson(complaints.getChangesSince(dateTime(a, "since"), integer(a, "limit"))));
+
+        student("insertStudent", a -> {
+            Student s = studentFrom(requiredObject(a, "student"));
+            s.setPassword(string(a, "password"));
+            return students.insertStudent(s);
+        });
+        student("findStudentByEmail", a -> toJson(students.findStudentByEmail(string(a, "email"))));
+        student("authenticate", a -> toJson(CredentialService.authenticate(students,
+                string(a, "email"), string(a, "password")).join()));
+        student("updateStudent", a -> students.updateStudent(studentFrom(requiredObject(a, "student"))));
+        student("setProfileImage", a -> students.setProfileImage(string(a, "email"), string(a, "image")));
+        student("saveProfileImage", a -> students.saveProfileImage(bytes(a, "image")));
+        student("getProfileThumbnail", a -> base64(students.getProfileThumbnail(string(a, "hash"))));
+        student("checkIdentity", a -> toJson(students.checkIdentity(string(a, "email"), string(a, "studentId"))));
+        student("isEmailExists", a -> students.isEmailExists(string(a, "email")));
+        student("isStudentIdExists", a -> students.isStudentIdExists(string(a, "studentId")));
+        student("getTotalStudentCount", a -> students.getTotalStudentCount());
+    }
+
+    private void complaint(String method, Endpoint endpoint) {
+        endpoints.put(COMPLAINTS + "/" + method, endpoint);
+    }
+
+    private void student(String method, Endpoint endpoint) {
+        endpoints.put(STUDENTS + "/" + method, endpoint);
+    }
+
+    public boolean has(String path) {
+        return endpoints.containsKey(path);
+    }
+
+    // path is "<repository>/<method>"; returns the value for the "result" field
+    public Object call(String path, Map<String, Object> args) {
+        Endpoint endpoint = endpoints.get(path);
+        if (endpoint == null) throw new BadRequestException("Unknown method " + path, true);
+        return endpoint.call(args);
+    }
+
+    // ---- arguments ----
+
+    private static Object required(Map<String, Object> args, String name) {
+        if (!args.containsKey(name)) throw new BadRequestException("Missing parameter " + name, false);
+        return args.get(name);
+    }
+
+    private static String string(Map<String, Object> args, String name) {
+        Object value = required(args, name);
+        if (value != null && !(value instanceof String)) throw new BadRequestException(name + " must be a string", false);
+        return (String) value;
+    }
+
+    private static int integer(Map<String, Object> args, String name) {
+        Object value = required(args, name);
+        if (!(value instanceof Long n) || n != n.intValue()) throw new BadRequestException(name + " must be an integer", false);
+        return n.intValue();
+    }
+
+    private static List<Integer> integers(Map<String, Object> args, String name) {
+        if (!(required(args, name) instanceof List<?> values)) throw new BadRequestException(name + " must be an array", false);
+        List<Integer> ids = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!(value instanceof Long n) || n != n.intValue()) throw new BadRequestException(name + " must hold integers", false);
+            ids.add(n.intValue());
+        }
+        return ids;
+    }
+
+    private static LocalDateTime dateTime(Map<String, Object> args, String name) {
+        String value = string(args, name);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(name + " must be an ISO-8601 date-time", false);
+        }
+    }
+
+    private static byte[] bytes(Map<String, Object> args, String name) {
+        String value = string(args, name);
+        if (value == null) throw new BadRequestException(name + " is required", false);
+        try {
+            return Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(name + " must be base64", false);
+        }
+    }
+
+    public static String base64(byte[] bytes) {
+        return bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Map<String, Object> args, String name) {
+        Object value = required(args, name);
+        if (value != null && !(value instanceof Map)) throw new BadRequestException(name + " must be an object", false);
+        return (Map<String, Object>) value;
+    }
+
+    private static Map<String, Object> requiredObject(Map<String, Object> args, String name) {
+        Map<String, Object> value = object(args, name);
+        if (value == null) throw new BadRequestException(name + " is required", false);
+        return value;
+    }
+
+    // ---- models to JSON values ----
+
+    public static Map<String, Object> toJson(Complaint c) {
+        if (c == null) return null;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", c.getId());
+        json.put("title", c.getTitle());
+        json.put("description", c.getDescription());
+        json.put("category", c.getCategory());
+        json.put("status", c.getStatus());
+        json.put("studentEmail", c.getStudentEmail());
+        json.put("feedback", c.getFeedback());
+        json.put("createdAt", c.getCreatedAt());
+        return json;
+    }
+
+    public static Map<String, Object> toJson(ComplaintSummary s) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", s.getId());
+        json.put("title", s.getTitle());
+        json.put("category", s.getCategory());
+        json.put("status", s.getStatus());
+        json.put("studentEmail", s.getStudentEmail());
+        json.put("feedbackPreview", s.getFeedbackPreview());
+        json.put("createdAt", s.getCreatedAt());
+        json.put("updatedAt", s.getUpdatedAt());
+        return json;
+    }
+
+    public static Map<String, Object> toJson(Student s) {
+        if (s == null) return null;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", s.getName());
+        json.put("studentId", s.getStudentId());
+        json.put("department", s.getDepartment());
+        json.put("mobile", s.getMobile());
+        json.put("email", s.getEmail());
+        json.put("profileImage", s.getProfileImage());
+        return json;
+    }
+
+    public static Map<String, Object> toJson(PageCursor cursor) {
+        if (cursor == null) return null;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("createdAt", cursor.createdAt());
+        json.put("id", cursor.id());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(ComplaintPage page) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("items", summariesToJson(page.items()));
+        json.put("next", toJson(page.next()));
+        return json;
+    }
+
+    private static Map<String, Object> toJson(SearchPage page) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("items", summariesToJson(page.items()));
+        json.put("nextOffset", page.nextOffset());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(DashboardStats stats) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("totalStudents", stats.totalStudents());
+        json.put("totalComplaints", stats.totalComplaints());
+        json.put("pending", stats.pending());
+        json.put("inProgress", stats.inProgress());
+        json.put("resolved", stats.resolved());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(IdentityCheck check) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("emailTaken", check.emailTaken());
+        json.put("studentIdTaken", check.studentIdTaken());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(BatchResult result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("succeeded", result.succeeded());
+        json.put("failed", result.failed());
+        json.put("error", result.error());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(ChangeSet changes) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("changed", summariesToJson(changes.changed()));
+        json.put("deleted", changes.deleted());
+        json.put("watermark", changes.watermark());
+        json.put("complete", changes.complete());
+        return json;
+    }
+
+    private static List<Map<String, Object>> complaintsToJson(List<Complaint> complaints) {
+        List<Map<String, Object>> json = new ArrayList<>(complaints.size());
+        for (Complaint c : complaints) json.add(toJson(c));
+        return json;
+    }
+
+    private static List<Map<String, Object>> summariesToJson(List<ComplaintSummary> summaries) {
+        List<Map<String, Object>> json = new ArrayList<>(summaries.size());
+        for (ComplaintSummary s : summaries) json.add(toJson(s));
+        return json;
+    }
+
+    // ---- JSON values to models ----
+    // Text and dates may be null; numbers, lists and the objects inside them may not.
+    // Anything missing or of the wrong type is an IllegalArgumentException naming it.
+
+    private static <T> T field(Map<?, ?> json, String name, Class<T> type, boolean required) {
+        Object value = json.get(name);
+        if (value == null) {
+            if (required) throw new IllegalArgumentException("Missing field " + name);
+            return null;
+        }
+        if (!type.isInstance(value)) throw new IllegalArgumentException(name + " must be a " + type.getSimpleName());
+        return type.cast(value);
+    }
+
+    private static String text(Map<?, ?> json, String name) {
+        return field(json, name, String.class, false);
+    }
+
+    private static int number(Map<?, ?> json, String name) {
+        return field(json, name, Number.class, true).intValue();
+    }
+
+    private static LocalDateTime time(Map<?, ?> json, String name) {
+        String value = text(json, name);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 date-time", e);
+        }
+    }
+
+    private static List<?> list(Object json, String what) {
+        if (!(json instanceof List<?> values)) throw new IllegalArgumentException(what + " must be an array");
+        return values;
+    }
+
+    private static Map<?, ?> item(Object json, String what) {
+        if (!(json instanceof Map<?, ?> map)) throw new IllegalArgumentException(what + " must hold objects");
+        return map;
+    }
+
+    public static Complaint complaintFrom(Map<?, ?> json) {
+        if (json == null) return null;
+        Complaint c = new Complaint();
+        c.setId(number(json, "id"));
+        c.setTitle(text(json, "title"));
+        c.setDescription(text(json, "description"));
+        c.setCategory(text(json, "category"));
+        c.setStatus(text(json, "status"));
+        c.setStudentEmail(text(json, "studentEmail"));
+        c.setFeedback(text(json, "feedback"));
+        c.setCreatedAt(time(json, "createdAt"));
+        return c;
+    }
+
+    public static ComplaintSummary summaryFrom(Map<?, ?> json) {
+        ComplaintSummary s = new ComplaintSummary();
+        s.setId(number(json, "id"));
+        s.setTitle(text(json, "title"));
+        s.setCategory(text(json, "category"));
+        s.setStatus(text(json, "status"));
+        s.setStudentEmail(text(json, "studentEmail"));
+        s.setFeedbackPreview(text(json, "feedbackPreview"));
+        s.setCreatedAt(time(json, "createdAt"));
+        s.setUpdatedAt(time(json, "updatedAt"));
+        return s;
+    }
+
+    public static Student studentFrom(Map<?, ?> json) {
+        if (json == null) return null;
+        Student s = new Student(text(json, "name"), text(json, "studentId"), text(json, "department"),
+                text(json, "mobile"), text(json, "email"), text(json, "password"));
+        s.setProfileImage(text(json, "profileImage"));
+        return s;
+    }
+
+    public static PageCursor cursorFrom(Map<?, ?> json) {
+        return json == null ? null : new PageCursor(time(json, "createdAt"), number(json, "id"));
+    }
+
+    public static List<Complaint> complaintsFrom(Object json) {
+        List<Complaint> complaints = new ArrayList<>();
+        for (Object item : list(json, "complaints")) complaints.add(complaintFrom(item(item, "complaints")));
+        return complaints;
+    }
+
+    public static List<ComplaintSummary> summariesFrom(Object json) {
+        List<ComplaintSummary> summaries = new ArrayList<>();
+        for (Object item : list(json, "summaries")) summaries.add(summaryFrom(item(item, "summaries")));
+        return summaries;
+    }
+
+    public static ComplaintPage complaintPageFrom(Map<?, ?> json) {
+        return new ComplaintPage(summariesFrom(json.get("items")), cursorFrom(field(json, "next", Map.class, false)));
+    }
+
+    public static SearchPage searchPageFrom(Map<?, ?> json) {
+        return new SearchPage(summariesFrom(json.get("items")), number(json, "nextOffset"));
+    }
+
+    public static DashboardStats statsFrom(Map<?, ?> json) {
+        return new DashboardStats(number(json, "totalStudents"), number(json, "totalComplaints"),
+                number(json, "pending"), number(json, "inProgress"), number(json, "resolved"));
+    }
+
+    public static IdentityCheck identityFrom(Map<?, ?> json) {
+        return new IdentityCheck(Boolean.TRUE.equals(json.get("emailTaken")), Boolean.TRUE.equals(json.get("studentIdTaken")));
+    }
+
+    public static BatchResult batchFrom(Map<?, ?> json) {
+        return new BatchResult(idsFrom(json.get("succeeded")), idsFrom(json.get("failed")), text(json, "error"));
+    }
+
+    public static ChangeSet changeSetFrom(Map<?, ?> json) {
+        return new ChangeSet(summariesFrom(json.get("changed")), idsFrom(json.get("deleted")), time(json, "watermark"),
+                Boolean.TRUE.equals(json.get("complete")));
+    }
+
+    private static List<Integer> idsFrom(Object json) {
+        List<Integer> ids = new ArrayList<>();
+        for (Object id : list(json, "ids")) {
+            if (!(id instanceof Number n)) throw new IllegalArgumentException("ids must hold numbers");
+            ids.add(n.intValue());
+        }
+        return ids;
+    }
+}
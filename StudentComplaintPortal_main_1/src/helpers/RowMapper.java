@@ -0,0 +1,32 @@
+package helpers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Maps rows to objects. bind() runs once per ResultSet to look up column positions;
+// the Reader it returns is then called for every row.
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    Reader<T> bind(ColumnIndex columns) throws SQLException;
+
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    default List<T> list(ResultSet rs) throws SQLException {
+        Reader<T> reader = bind(ColumnIndex.of(rs));
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(reader.read(rs));
+        }
+        return rows;
+    }
+
+    default T first(ResultSet rs) throws SQLException {
+        return rs.next() ? bind(ColumnIndex.of(rs)).read(rs) : null;
+    }
+}
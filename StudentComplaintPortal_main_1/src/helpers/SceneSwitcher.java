@@ -1,18 +1,39 @@
 package helpers;
 
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Cursor;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import models.Student;
+import models.BatchResult;
+import models.ChangeSet;
 import models.Complaint;
+import models.ComplaintPage;
+import models.ComplaintSummary;
+import models.DashboardStats;
+import models.IdentityCheck;
+import models.PageCursor;
+import models.SearchPage;
 
 public class SceneSwitcher {
+    private static final Logger LOG = Logger.getLogger(SceneSwitcher.class.getName());
+
     private static Stage primaryStage;
     private static Student currentStudent;
-    private static StudentDAO studentDAO = new StudentDAO();
-    private static ComplaintDAO complaintDAO = new ComplaintDAO();
+    private static final StudentRepository studentDAO = Backend.students();
+    private static final ComplaintRepository complaintDAO = Backend.complaints();
     private static Complaint currentComplaint;
 
     public static final String ADMIN_EMAIL = "admin@portal.com";
@@ -24,7 +45,6 @@ public class SceneSwitcher {
 
     public static void setPrimaryStage(Stage stage) {
         primaryStage = stage;
-        DatabaseConfig.initializeDatabase();
 
         primaryStage.setResizable(false);
         primaryStage.setWidth(APP_WIDTH);
@@ -34,78 +54,135 @@ public class SceneSwitcher {
         primaryStage.setMaxWidth(APP_WIDTH);
         primaryStage.setMaxHeight(APP_HEIGHT);
         
-        System.out.println("✅ Primary stage configured: " + APP_WIDTH + "x" + APP_HEIGHT);
+        LOG.log(Level.FINE, "Primary stage configured width={0} height={1}", new Object[]{APP_WIDTH, APP_HEIGHT});
+    }
+
+    // Scenes are parsed once and kept for the rest of the session; each entry holds
+    // the root node and controller, or a background load that is still running.
+    private record View(Parent root, Object controller) {}
+
+    private static final Map<String, CompletableFuture<View>> views = new ConcurrentHashMap<>();
+    private static Refreshable shown; // FX thread only
+
+    private static final String[] ALL_SCENES = {
+            "LoginScene.fxml", "SignUpScene.fxml", "StudentDashboard.fxml", "SubmitComplaint.fxml",
+            "MyComplaints.fxml", "EditComplaint.fxml", "ProfileScene.fxml", "AdminDashboard.fxml"
+    };
+
+    private static final Metrics.Timer SWITCH_TIMER = Metrics.timer("scene.switch");
+
+    private static View loadView(String fxmlFile) throws IOException {
+        long start = System.nanoTime();
+        String resourcePath = "/scenes/" + fxmlFile;
+        var resource = SceneSwitcher.class.getResource(resourcePath);
+        if (resource == null) {
+            throw new IOException("FXML file not found: " + resourcePath);
+        }
+        FXMLLoader loader = new FXMLLoader(resource);
+        Parent root = loader.load();
+        Metrics.timer("fxml.load." + fxmlFile).recordSince(start);
+        return new View(root, loader.getController());
+    }
+
+    // Parses the given scenes in the background so the first visit is a plain swap.
+    // Controllers must not read session state in initialize() for this to be safe.
+    public static void preloadScenes(String... fxmlFiles) {
+        for (String fxmlFile : fxmlFiles) {
+            views.computeIfAbsent(fxmlFile, file -> {
+                CompletableFuture<View> future = AsyncService.supply(() -> {
+                    try {
+                        return loadView(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                future.whenComplete((view, error) -> {
+                    if (error != null) {
+                        views.remove(file, future); // switchScene will retry and report it
+                        LOG.log(Level.WARNING, "Could not preload file={0} error={1}", new Object[]{file, error.getMessage()});
+                    }
+                });
+                return future;
+            });
+        }
+    }
+
+    public static void preloadScenes() {
+        preloadScenes(ALL_SCENES);
+    }
+
+    private static View getView(String fxmlFile) throws IOException {
+        CompletableFuture<View> future = views.get(fxmlFile);
+        if (future != null) {
+            try {
+                return future.join(); // only waits if a preload is still running
+            } catch (CompletionException | CancellationException e) {
+                views.remove(fxmlFile, future);
+            }
+        }
+        View view = loadView(fxmlFile);
+        views.put(fxmlFile, CompletableFuture.completedFuture(view));
+        return view;
     }
 
     public static void switchScene(String fxmlFile, String title) {
-        System.out.println("🔄 Switching to scene: " + fxmlFile);
-        
+        long start = System.nanoTime();
+
+        // Results for the scene we are leaving are no longer wanted
+        AsyncService.cancelPending();
+        if (shown != null) {
+            shown.onHide();
+            shown = null;
+        }
+
+        CompletableFuture<View> known = views.get(fxmlFile);
+        boolean cached = known != null && known.isDone() && !known.isCompletedExceptionally();
+
+        View view;
         try {
-            // Build the resource path
-            String resourcePath = "/scenes/" + fxmlFile;
-            System.out.println("📁 Looking for FXML at: " + resourcePath);
-            
-            // Check if resource exists
-            var resource = SceneSwitcher.class.getResource(resourcePath);
-            if (resource == null) {
-                System.err.println("❌ FXML file not found: " + resourcePath);
-                System.err.println("💡 Make sure " + fxmlFile + " is in the src/scenes/ folder");
-                throw new IOException("FXML file not found: " + resourcePath);
-            }
-            
-            System.out.println("✅ FXML file found: " + resource.toString());
-            
-            // Load FXML
-            FXMLLoader loader = new FXMLLoader(resource);
-            Parent root = loader.load();
-            
-            System.out.println("✅ FXML loaded successfully");
-            
-            // Get controller for debugging
-            Object controller = loader.getController();
-            if (controller != null) {
-                System.out.println("✅ Controller loaded: " + controller.getClass().getSimpleName());
-            } else {
-                System.err.println("⚠️ No controller found for " + fxmlFile);
-            }
-            
-            // Create and set scene
-            Scene scene = new Scene(root, APP_WIDTH, APP_HEIGHT);
-            primaryStage.setScene(scene);
-            primaryStage.setTitle(title);
-            
-            // Ensure stage properties
-            primaryStage.setResizable(false);
-            primaryStage.setWidth(APP_WIDTH);
-            primaryStage.setHeight(APP_HEIGHT);
-            primaryStage.centerOnScreen();
-            
-            System.out.println("✅ Scene switched successfully to: " + title);
-            
+            view = getView(fxmlFile);
         } catch (IOException e) {
-            System.err.println("❌ Error switching scene: " + e.getMessage());
-            e.printStackTrace();
-            
             // Show detailed error information
-            System.err.println("\n🔍 Debugging information:");
-            System.err.println("  FXML file: " + fxmlFile);
-            System.err.println("  Resource path: /scenes/" + fxmlFile);
-            System.err.println("  Current working directory: " + System.getProperty("user.dir"));
-            
-            // List available resources in scenes folder
-            try {
-                var scenesUrl = SceneSwitcher.class.getResource("/scenes/");
-                if (scenesUrl != null) {
-                    System.err.println("  Scenes folder found: " + scenesUrl.toString());
-                } else {
-                    System.err.println("  ❌ Scenes folder not found in resources");
-                }
-            } catch (Exception ex) {
-                System.err.println("  Error checking scenes folder: " + ex.getMessage());
-            }
-            
+            var scenesUrl = SceneSwitcher.class.getResource("/scenes/");
+            LOG.log(Level.SEVERE, "Error switching scene file=" + fxmlFile + " resource=/scenes/" + fxmlFile
+                    + " workingDir=" + System.getProperty("user.dir")
+                    + " scenesFolder=" + (scenesUrl != null ? scenesUrl : "missing"), e);
+
             throw new RuntimeException("Failed to switch scene: " + fxmlFile, e);
         }
+
+        // One Scene for the whole app; navigating only swaps its root
+        Scene scene = primaryStage.getScene();
+        if (scene == null) {
+            scene = new Scene(view.root(), APP_WIDTH, APP_HEIGHT);
+            primaryStage.setScene(scene);
+            primaryStage.centerOnScreen();
+        } else if (scene.getRoot() != view.root()) {
+            scene.setRoot(view.root());
+        }
+        primaryStage.setTitle(title);
+
+        // A reused root may still be disabled from a task that never finished
+        view.root().setDisable(false);
+        scene.setCursor(Cursor.DEFAULT);
+
+        if (view.controller() instanceof Refreshable refreshable) {
+            shown = refreshable;
+            refreshable.onShow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        SWITCH_TIMER.record(elapsed);
+        LOG.log(Level.FINE, "Switched scene file={0} ms={1,number,0.0} cached={2}",
+                new Object[]{fxmlFile, elapsed / 1_000_000.0, cached});
+    }
+
+    // Blocks input on the current scene while a background task runs
+    public static void setBusy(boolean busy) {
+        Scene scene = primaryStage != null ? primaryStage.getScene() : null;
+        if (scene == null) return;
+        scene.getRoot().setDisable(busy);
+        scene.setCursor(busy ? Cursor.WAIT : Cursor.DEFAULT);
     }
 
     // Student methods
@@ -116,17 +193,28 @@ public class SceneSwitcher {
         return studentDAO.findStudentByEmail(email);
     }
 
+    // Completes with the student, or null if the email or password is wrong
+    public static CompletableFuture<Student> authenticate(String email, String password) {
+        return Backend.authenticate(email.toLowerCase().trim(), password);
+    }
+
     public static boolean isValidLogin(String email, String password) {
         if (email == null || password == null) return false;
-        Student student = findStudentByEmail(email.toLowerCase().trim());
-        return student != null && password.equals(student.getPassword());
+        return authenticate(email, password).join() != null;
     }
 
     public static boolean isAdminLogin(String email, String password) {
         return ADMIN_EMAIL.equalsIgnoreCase(email.trim()) && ADMIN_PASSWORD.equals(password);
     }
 
+    // Only the hash is stored; student's password is replaced by it
     public static boolean addStudent(Student student) {
+        try {
+            student.setPassword(CredentialService.hash(student.getPassword()).join());
+        } catch (RuntimeException e) {
+            LOG.log(Level.SEVERE, "Could not hash password", e);
+            return false;
+        }
         return studentDAO.insertStudent(student);
     }
 
@@ -134,6 +222,28 @@ public class SceneSwitcher {
         return studentDAO.updateStudent(student);
     }
 
+    // Stores the picture and points the student at it; returns the new hash, null on failure
+    public static String setProfileImage(Student student, Path file) {
+        try {
+            String hash = studentDAO.saveProfileImage(ProfileImageStore.readUpload(file));
+            if (hash != null && studentDAO.setProfileImage(student.getEmail(), hash)) {
+                student.setProfileImage(hash);
+                return hash;
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read profile image: {0}", e.getMessage());
+        }
+        return null;
+    }
+
+    public static byte[] getProfileThumbnail(String hash) {
+        return studentDAO.getProfileThumbnail(hash);
+    }
+
+    public static IdentityCheck checkIdentity(String email, String studentId) {
+        return studentDAO.checkIdentity(email, studentId);
+    }
+
     public static boolean isEmailExists(String email) {
         return studentDAO.isEmailExists(email);
     }
@@ -163,6 +273,10 @@ public class SceneSwitcher {
         return complaintDAO.getComplaintsByStudentEmail(studentEmail);
     }
 
+    public static java.util.List<ComplaintSummary> getComplaintSummariesByStudentEmail(String studentEmail) {
+        return complaintDAO.getComplaintSummariesByStudentEmail(studentEmail);
+    }
+
     public static java.util.List<Complaint> getAllComplaints() {
         return complaintDAO.getAllComplaints();
     }
@@ -171,6 +285,14 @@ public class SceneSwitcher {
         return complaintDAO.getComplaintsByStatus(status);
     }
 
+    public static ComplaintPage getComplaintsPage(String status, PageCursor after, int limit) {
+        return complaintDAO.getComplaintsPage(status, after, limit);
+    }
+
+    public static SearchPage searchComplaints(String query, String status, int offset, int limit) {
+        return complaintDAO.searchComplaints(query, status, offset, limit);
+    }
+
     public static Complaint getComplaintById(int id) {
         return complaintDAO.getComplaintById(id);
     }
@@ -191,6 +313,14 @@ public class SceneSwitcher {
         return complaintDAO.getResolvedComplaintCountByStudentEmail(studentEmail);
     }
 
+    public static DashboardStats getDashboardStats() {
+        return complaintDAO.getDashboardStats();
+    }
+
+    public static DashboardStats getStudentDashboardStats(String studentEmail) {
+        return complaintDAO.getStudentDashboardStats(studentEmail);
+    }
+
     public static boolean setComplaintStatus(int id, String status) {
         return complaintDAO.setComplaintStatus(id, status);
     }
@@ -199,6 +329,31 @@ public class SceneSwitcher {
         return complaintDAO.setComplaintFeedback(id, feedback);
     }
 
+    public static BatchResult setComplaintStatusBatch(java.util.List<Integer> ids, String status) {
+        return complaintDAO.setComplaintStatusBatch(ids, status);
+    }
+
+    public static BatchResult setComplaintFeedbackBatch(java.util.List<Integer> ids, String feedback) {
+        return complaintDAO.setComplaintFeedbackBatch(ids, feedback);
+    }
+
+    public static BatchResult deleteComplaintsBatch(java.util.List<Integer> ids) {
+        return complaintDAO.deleteComplaintsBatch(ids);
+    }
+
+    public static ChangeSet getChangesSince(LocalDateTime since, int limit) {
+        return complaintDAO.getChangesSince(since, limit);
+    }
+
+    // null when the backend has no cache in front of it
+    public static CachingComplaintDAO.CacheStats getComplaintCacheStats() {
+        return complaintDAO instanceof CachingComplaintDAO caching ? caching.getStats() : null;
+    }
+
+    public static CachingStudentDAO.CacheStats getStudentCacheStats() {
+        return studentDAO instanceof CachingStudentDAO caching ? caching.getStats() : null;
+    }
+
     public static Complaint getCurrentComplaint() { return currentComplaint; }
     public static void setCurrentComplaint(Complaint complaint) { currentComplaint = complaint; }
 }
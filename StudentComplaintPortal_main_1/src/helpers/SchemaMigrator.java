@@ -0,0 +1,344 @@
+package helpers;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Brings the database schema up to date. Every migration runs once and the applied
+// versions are recorded in schema_version, so a normal start costs a single query.
+// Steps must be safe to re-run: a crash between a step and its record replays it.
+public class SchemaMigrator {
+    private static final Logger LOG = Logger.getLogger(SchemaMigrator.class.getName());
+
+    interface Step {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    record Migration(int version, String description, Step step) {}
+
+    // Append new migrations at the end; never change one that has shipped.
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create students and complaints tables", SchemaMigrator::createTables),
+            new Migration(2, "Fix complaint status ENUM values", SchemaMigrator::fixStatusColumn),
+            new Migration(3, "Insert sample data", SchemaMigrator::insertSampleData),
+            new Migration(4, "Add FULLTEXT index for complaint search", SchemaMigrator::addFullTextIndex),
+            new Migration(5, "Add composite indexes for complaint lists", SchemaMigrator::addListIndexes),
+            new Migration(6, "Move profile pictures out of the students table", SchemaMigrator::moveProfilePictures),
+            new Migration(7, "Track complaint changes and deletes for delta sync", SchemaMigrator::addChangeTracking)
+    );
+
+    private static final int ER_NO_SUCH_TABLE = 1146;
+    private static final String LOCK_NAME = "student_complaint_portal.schema";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+    private final ConnectionPool.ConnectionFactory connections;
+
+    public SchemaMigrator(ConnectionPool.ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    // Returns the schema version after migrating.
+    public int migrate() throws SQLException {
+        try (Connection conn = connections.create();
+             Statement stmt = conn.createStatement()) {
+
+            int current = currentVersion(stmt);
+            if (current >= latestVersion()) {
+                return current;
+            }
+
+            // Another copy of the app may be starting against the same database
+            lock(stmt);
+            try {
+                current = currentVersion(stmt);
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version() <= current) continue;
+
+                    long start = System.nanoTime();
+                    migration.step().apply(stmt);
+                    record(conn, migration);
+                    current = migration.version();
+                    LOG.log(Level.INFO, "Schema migration applied version={0} description={1} ms={2,number,0}",
+                            new Object[]{migration.version(), migration.description(), (System.nanoTime() - start) / 1_000_000.0});
+                }
+                return current;
+            } finally {
+                unlock(stmt);
+            }
+        }
+    }
+
+    private static int currentVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE) throw e;
+        }
+
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INT PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+        """);
+        return 0;
+    }
+
+    private static void record(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT IGNORE INTO schema_version (version, description) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static boolean indexExists(Statement stmt, String table, String index) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()"
+                + " AND TABLE_NAME = '" + table + "' AND INDEX_NAME = '" + index + "' LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    private static boolean columnExists(Statement stmt, String table, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()"
+                + " AND TABLE_NAME = '" + table + "' AND COLUMN_NAME = '" + column + "' LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    private static boolean triggerExists(Statement stmt, String trigger) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM information_schema.TRIGGERS WHERE TRIGGER_SCHEMA = DATABASE()"
+                + " AND TRIGGER_NAME = '" + trigger + "' LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    private static void lock(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT GET_LOCK('" + LOCK_NAME + "', " + LOCK_TIMEOUT_SECONDS + ")")) {
+            if (!rs.next() || rs.getInt(1) != 1) {
+                throw new SQLException("Timed out waiting for another instance to finish migrating the schema");
+            }
+        }
+    }
+
+    private static void unlock(Statement stmt) {
+        try {
+            stmt.executeQuery("SELECT RELEASE_LOCK('" + LOCK_NAME + "')").close();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Could not release schema lock: {0}", e.getMessage());
+        }
+    }
+
+    // Version 1
+    private static void createTables(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS students (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                name VARCHAR(100) NOT NULL,
+                student_id VARCHAR(50) UNIQUE NOT NULL,
+                department VARCHAR(100) NOT NULL,
+                mobile VARCHAR(15) NOT NULL,
+                email VARCHAR(100) UNIQUE NOT NULL,
+                password VARCHAR(255) NOT NULL,
+                profile_picture LONGBLOB NULL,
+                profile_picture_mime VARCHAR(100) NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                INDEX idx_email (email),
+                INDEX idx_student_id (student_id)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+        """);
+
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS complaints (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                title VARCHAR(200) NOT NULL,
+                description TEXT NOT NULL,
+                category ENUM('Academic', 'Facility', 'Admin', 'Other') NOT NULL,
+                status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending',
+                feedback TEXT NULL,
+                feedback_updated_at TIMESTAMP NULL DEFAULT NULL,
+                student_email VARCHAR(100) NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                INDEX idx_student_email (student_email),
+                INDEX idx_status (status),
+                INDEX idx_category (category),
+                FOREIGN KEY (student_email) REFERENCES students(email) ON DELETE CASCADE ON UPDATE CASCADE
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+        """);
+    }
+
+    // Version 2: older databases were created with different status values. Only
+    // rebuild the column when it is actually wrong, ALTER ... MODIFY copies the table.
+    private static void fixStatusColumn(Statement stmt) throws SQLException {
+        String columnType = null;
+        try (ResultSet rs = stmt.executeQuery("""
+                SELECT COLUMN_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'complaints' AND COLUMN_NAME = 'status'
+            """)) {
+            if (rs.next()) columnType = rs.getString(1);
+        }
+
+        if (!"enum('Pending','In Progress','Resolved')".equalsIgnoreCase(columnType)) {
+            stmt.executeUpdate("ALTER TABLE complaints MODIFY COLUMN status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending'");
+        }
+    }
+
+    // Version 3
+    private static void insertSampleData(Statement stmt) throws SQLException {
+        boolean hasStudent;
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM students WHERE email = 'test@student.com'")) {
+            hasStudent = rs.next() && rs.getInt(1) > 0;
+        }
+        if (!hasStudent) {
+            stmt.executeUpdate("""
+                INSERT INTO students (name, student_id, department, mobile, email, password)
+                VALUES ('Test Student', 'TEST001', 'Computer Science', '1234567890', 'test@student.com', 'test123')
+            """);
+        }
+
+        boolean hasComplaints;
+        try (ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM complaints)")) {
+            hasComplaints = rs.next() && rs.getBoolean(1);
+        }
+        if (!hasComplaints) {
+            stmt.executeUpdate("""
+                INSERT INTO complaints (title, description, category, student_email, status)
+                VALUES
+                ('Sample Complaint', 'This is a sample complaint', 'Academic', 'test@student.com', 'Pending'),
+                ('Course Registration Issue', 'Registration blocked due to error', 'Academic', 'test@student.com', 'In Progress'),
+                ('Library Access Problem', 'Cannot access library resources', 'Admin', 'test@student.com', 'Resolved')
+            """);
+        }
+    }
+
+    // Version 4
+    private static void addFullTextIndex(Statement stmt) throws SQLException {
+        if (!indexExists(stmt, "complaints", "ft_complaints_text")) {
+            stmt.executeUpdate("ALTER TABLE complaints ADD FULLTEXT INDEX ft_complaints_text (title, description, feedback)");
+        }
+    }
+
+    // Version 5: list queries filter on one column and then order by created_at DESC,
+    // id DESC. With these indexes they read rows already in order instead of sorting.
+    // The old single-column indexes are prefixes of the new ones and go away.
+    private static void addListIndexes(Statement stmt) throws SQLException {
+        List<String> changes = new ArrayList<>();
+        if (!indexExists(stmt, "complaints", "idx_student_created")) {
+            changes.add("ADD INDEX idx_student_created (student_email, created_at, id)");
+        }
+        if (!indexExists(stmt, "complaints", "idx_status_created")) {
+            changes.add("ADD INDEX idx_status_created (status, created_at, id)");
+        }
+        if (!indexExists(stmt, "complaints", "idx_created")) {
+            changes.add("ADD INDEX idx_created (created_at, id)");
+        }
+        if (indexExists(stmt, "complaints", "idx_student_email")) {
+            changes.add("DROP INDEX idx_student_email");
+        }
+        if (indexExists(stmt, "complaints", "idx_status")) {
+            changes.add("DROP INDEX idx_status");
+        }
+
+        // One ALTER so the table is only rebuilt once
+        if (!changes.isEmpty()) {
+            stmt.executeUpdate("ALTER TABLE complaints " + String.join(", ", changes));
+        }
+    }
+
+    // Version 6: pictures are copied into profile_images, keyed by content hash with
+    // their thumbnail, and the row keeps only the hash, so every SELECT on students stays
+    // small and every client sees the same pictures. Pictures are copied one row at a
+    // time; a crash part way resumes with the rows that have a blob but no hash yet.
+    // A blob ImageIO cannot decode could never be shown and is dropped with the columns.
+    private static void moveProfilePictures(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS profile_images (
+                hash CHAR(64) PRIMARY KEY,
+                image MEDIUMBLOB NOT NULL,
+                thumbnail MEDIUMBLOB NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            ) ENGINE=InnoDB
+        """);
+        if (!columnExists(stmt, "students", "profile_image")) {
+            stmt.executeUpdate("ALTER TABLE students ADD COLUMN profile_image CHAR(64) NULL AFTER password");
+        }
+        if (!columnExists(stmt, "students", "profile_picture")) return;
+
+        Connection conn = stmt.getConnection();
+        String next = "SELECT id, profile_picture FROM students"
+                + " WHERE profile_picture IS NOT NULL AND profile_image IS NULL AND id > ? ORDER BY id LIMIT 1";
+        String update = "UPDATE students SET profile_image = ? WHERE id = ?";
+        int copied = 0;
+        int skipped = 0;
+
+        try (PreparedStatement select = conn.prepareStatement(next);
+             PreparedStatement insert = conn.prepareStatement(StudentDAO.SQL_SAVE_IMAGE);
+             PreparedStatement pstmt = conn.prepareStatement(update)) {
+            int lastId = 0;
+            while (true) {
+                select.setInt(1, lastId);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) break;
+                    lastId = rs.getInt(1);
+
+                    ProfileImageStore.Picture picture;
+                    try {
+                        picture = ProfileImageStore.prepare(rs.getBytes(2));
+                    } catch (IOException e) {
+                        LOG.log(Level.WARNING, "Skipped profile picture student={0} error={1}", new Object[]{lastId, e.getMessage()});
+                        skipped++;
+                        continue;
+                    }
+                    StudentDAO.bindPicture(insert, picture);
+                    insert.executeUpdate();
+                    pstmt.setString(1, picture.hash());
+                    pstmt.setInt(2, lastId);
+                    pstmt.executeUpdate();
+                    copied++;
+                }
+            }
+        }
+
+        stmt.executeUpdate("ALTER TABLE students DROP COLUMN profile_picture, DROP COLUMN profile_picture_mime");
+        if (copied > 0 || skipped > 0) {
+            LOG.log(Level.INFO, "Copied profile pictures count={0,number,#} skipped={1,number,#}", new Object[]{copied, skipped});
+        }
+    }
+
+    // Version 7: ComplaintDAO.getChangesSince reads rows by updated_at and deletes from a
+    // tombstone table the trigger fills. Rows removed by the students foreign key's
+    // ON DELETE CASCADE do not fire triggers; the app never deletes students.
+    private static void addChangeTracking(Statement stmt) throws SQLException {
+        if (!indexExists(stmt, "complaints", "idx_updated")) {
+            stmt.executeUpdate("ALTER TABLE complaints ADD INDEX idx_updated (updated_at, id)");
+        }
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS complaint_tombstones (
+                complaint_id INT PRIMARY KEY,
+                deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                INDEX idx_deleted (deleted_at)
+            ) ENGINE=InnoDB
+        """);
+        if (!triggerExists(stmt, "complaints_tombstone")) {
+            stmt.executeUpdate("""
+                CREATE TRIGGER complaints_tombstone AFTER DELETE ON complaints FOR EACH ROW
+                    INSERT INTO complaint_tombstones (complaint_id) VALUES (OLD.id)
+                    ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP
+            """);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package helpers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// Statements prepared on every new pooled connection. The driver's statement cache keeps
+// them after close(), so even the first login on a fresh connection skips the server-side
+// parse and plan. Only the hot paths are listed; everything else is cached on first use.
+final class StatementCache {
+
+    static final List<String> HOT_STATEMENTS = List.of(
+            StudentDAO.SQL_BY_EMAIL,
+            StudentDAO.SQL_IDENTITY_EXISTS,
+            ComplaintDAO.SQL_SUMMARIES_BY_STUDENT,
+            ComplaintDAO.SQL_STUDENT_DASHBOARD_STATS,
+            ComplaintDAO.SQL_DASHBOARD_STATS,
+            ComplaintDAO.SQL_BY_ID,
+            ComplaintDAO.SQL_SET_STATUS,
+            ComplaintDAO.SQL_SET_FEEDBACK,
+            ComplaintDAO.pageSql(false, false),
+            ComplaintDAO.pageSql(false, true),
+            ComplaintDAO.pageSql(true, false),
+            ComplaintDAO.pageSql(true, true)
+    );
+
+    private StatementCache() {}
+
+    static void prepare(Connection conn) {
+        for (String sql : HOT_STATEMENTS) {
+            try {
+                conn.prepareStatement(sql).close(); // close() hands it to the driver's cache
+            } catch (SQLException e) {
+                // Tables may not exist yet on a brand-new database; the migrations
+                // create them and the statement gets cached on first use instead.
+                return;
+            }
+        }
+    }
+}
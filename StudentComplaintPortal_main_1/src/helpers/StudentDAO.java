@@ -1,15 +1,59 @@
 package helpers;
 
+import models.IdentityCheck;
 import models.Student;
+import java.io.IOException;
 import java.sql.*;
-
-public class StudentDAO {
-
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class StudentDAO implements StudentRepository {
+    private static final Logger LOG = Logger.getLogger(StudentDAO.class.getName());
+
+    // Every statement the DAO runs, so benchmarks.QueryPlanTest can EXPLAIN exactly what ships
+    public static final String SQL_INSERT = "INSERT INTO students (name, student_id, department, mobile, email, password) VALUES (?, ?, ?, ?, ?, ?)";
+    // Explicit columns: never pull more of the row than the model holds
+    public static final String STUDENT_COLUMNS = "name, student_id, department, mobile, email, password, profile_image";
+    public static final String SQL_BY_EMAIL = "SELECT " + STUDENT_COLUMNS + " FROM students WHERE email = ?";
+    public static final String SQL_UPDATE = "UPDATE students SET name = ?, student_id = ?, department = ?, mobile = ? WHERE email = ?";
+    public static final String SQL_EMAIL_EXISTS = "SELECT COUNT(*) FROM students WHERE email = ?";
+    public static final String SQL_STUDENT_ID_EXISTS = "SELECT COUNT(*) FROM students WHERE student_id = ?";
+    // Both sign-up uniqueness probes in one round trip, each an index lookup
+    public static final String SQL_IDENTITY_EXISTS = "SELECT EXISTS (SELECT 1 FROM students WHERE email = ?), "
+            + "EXISTS (SELECT 1 FROM students WHERE student_id = ?)";
+    public static final String SQL_COUNT_ALL = "SELECT COUNT(*) FROM students";
+    public static final String SQL_UPDATE_PASSWORD = "UPDATE students SET password = ? WHERE email = ? AND password = ?";
+    public static final String SQL_SET_PROFILE_IMAGE = "UPDATE students SET profile_image = ? WHERE email = ?";
+    // Content-addressed, so a second copy of the same picture is a no-op
+    public static final String SQL_SAVE_IMAGE = "INSERT IGNORE INTO profile_images (hash, image, thumbnail) VALUES (?, ?, ?)";
+    public static final String SQL_THUMBNAIL = "SELECT thumbnail FROM profile_images WHERE hash = ?";
+
+    static final RowMapper<Student> STUDENT_MAPPER = columns -> {
+        int name = columns.require("name");
+        int studentId = columns.require("student_id");
+        int department = columns.require("department");
+        int mobile = columns.require("mobile");
+        int email = columns.require("email");
+        int password = columns.require("password");
+        int profileImage = columns.indexOf("profile_image");
+
+        return rs -> {
+            Student student = new Student();
+            student.setName(rs.getString(name));
+            student.setStudentId(rs.getString(studentId));
+            student.setDepartment(rs.getString(department));
+            student.setMobile(rs.getString(mobile));
+            student.setEmail(rs.getString(email));
+            student.setPassword(rs.getString(password));
+            if (profileImage > 0) student.setProfileImage(rs.getString(profileImage));
+            return student;
+        };
+    };
+
+    @Override
     public boolean insertStudent(Student student) {
-        String sql = "INSERT INTO students (name, student_id, department, mobile, email, password) VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.insertStudent");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT)) {
 
             String normalizedEmail = student.getEmail() != null ? student.getEmail().toLowerCase().trim() : null;
 
@@ -22,41 +66,36 @@ public class StudentDAO {
 
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error inserting student: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error inserting student: {0}", e.getMessage());
             return false;
         }
     }
 
+    @Override
     public Student findStudentByEmail(String email) {
-        String sql = "SELECT * FROM students WHERE email = ?";
+        try {
+            return loadStudentByEmail(email);
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error finding student: {0}", e.getMessage());
+        }
+        return null;
+    }
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Like findStudentByEmail, but a failure is an exception rather than null, so a
+    // cache can tell "no such student" from "could not ask"
+    protected Student loadStudentByEmail(String email) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.loadStudentByEmail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_BY_EMAIL)) {
 
             pstmt.setString(1, email.toLowerCase().trim());
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                Student student = new Student();
-                student.setName(rs.getString("name"));
-                student.setStudentId(rs.getString("student_id"));
-                student.setDepartment(rs.getString("department"));
-                student.setMobile(rs.getString("mobile"));
-                student.setEmail(rs.getString("email"));
-                student.setPassword(rs.getString("password"));
-                return student;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error finding student: " + e.getMessage());
+            return STUDENT_MAPPER.first(pstmt.executeQuery());
         }
-        return null;
     }
 
+    @Override
     public boolean updateStudent(Student student) {
-        String sql = "UPDATE students SET name = ?, student_id = ?, department = ?, mobile = ? WHERE email = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.updateStudent");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE)) {
 
             pstmt.setString(1, student.getName());
             pstmt.setString(2, student.getStudentId());
@@ -67,16 +106,119 @@ public class StudentDAO {
             return pstmt.executeUpdate() > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error updating student: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error updating student: {0}", e.getMessage());
             return false;
         }
     }
 
-    public boolean isEmailExists(String email) {
-        String sql = "SELECT COUNT(*) FROM students WHERE email = ?";
+    // Compare-and-set: only replaces the password if it is still expected
+    @Override
+    public boolean updatePassword(String email, String expected, String password) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.updatePassword");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE_PASSWORD)) {
+
+            pstmt.setString(1, password);
+            pstmt.setString(2, email.toLowerCase().trim());
+            pstmt.setString(3, expected);
+
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error updating password: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    // image is a ProfileImageStore hash, or null to remove the picture
+    @Override
+    public boolean setProfileImage(String email, String image) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.setProfileImage");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SET_PROFILE_IMAGE)) {
+
+            pstmt.setString(1, image);
+            pstmt.setString(2, email.toLowerCase().trim());
+
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error updating profile image: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public String saveProfileImage(byte[] image) {
+        ProfileImageStore.Picture picture;
+        try {
+            picture = ProfileImageStore.prepare(image);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Rejected profile image: {0}", e.getMessage());
+            return null;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.saveProfileImage");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SAVE_IMAGE)) {
+
+            bindPicture(pstmt, picture);
+            pstmt.executeUpdate();
+            return picture.hash();
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error saving profile image: {0}", e.getMessage());
+            return null;
+        }
+    }
+
+    static void bindPicture(PreparedStatement pstmt, ProfileImageStore.Picture picture) throws SQLException {
+        pstmt.setString(1, picture.hash());
+        pstmt.setBytes(2, picture.image());
+        pstmt.setBytes(3, picture.thumbnail());
+    }
+
+    @Override
+    public byte[] getProfileThumbnail(String hash) {
+        if (!ProfileImageStore.isHash(hash)) return null;
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.getProfileThumbnail");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_THUMBNAIL)) {
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, hash);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getBytes(1) : null;
+            }
+
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error loading profile thumbnail: {0}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public IdentityCheck checkIdentity(String email, String studentId) {
+        try {
+            return queryIdentity(email, studentId);
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Error checking email and student ID: {0}", e.getMessage());
+        }
+        return new IdentityCheck(false, false);
+    }
+
+    protected IdentityCheck queryIdentity(String email, String studentId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.queryIdentity");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_IDENTITY_EXISTS)) {
+
+            pstmt.setString(1, email.toLowerCase().trim());
+            pstmt.setString(2, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return new IdentityCheck(rs.getBoolean(1), rs.getBoolean(2));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmailExists(String email) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.isEmailExists");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_EMAIL_EXISTS)) {
 
             pstmt.setString(1, email.toLowerCase().trim());
             ResultSet rs = pstmt.executeQuery();
@@ -86,17 +228,16 @@ public class StudentDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error checking email: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error checking email: {0}", e.getMessage());
         }
 
         return false;
     }
 
+    @Override
     public boolean isStudentIdExists(String studentId) {
-        String sql = "SELECT COUNT(*) FROM students WHERE student_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.isStudentIdExists");
+             PreparedStatement pstmt = conn.prepareStatement(SQL_STUDENT_ID_EXISTS)) {
 
             pstmt.setString(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -106,25 +247,24 @@ public class StudentDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error checking student ID: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error checking student ID: {0}", e.getMessage());
         }
 
         return false;
     }
 
+    @Override
     public int getTotalStudentCount() {
-        String sql = "SELECT COUNT(*) FROM students";
-
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getConnection("StudentDAO.getTotalStudentCount");
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SQL_COUNT_ALL)) {
 
             if (rs.next()) {
                 return rs.getInt(1);
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting total student count: " + e.getMessage());
+            LOG.log(Level.WARNING, "Error getting total student count: {0}", e.getMessage());
         }
 
         return 0;
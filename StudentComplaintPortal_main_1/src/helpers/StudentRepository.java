@@ -0,0 +1,38 @@
+package helpers;
+
+import models.IdentityCheck;
+import models.Student;
+
+// Student storage. Same conventions as ComplaintRepository: failures come back as
+// false or null, and emails are matched case-insensitively. Passwords are stored as
+// given; hashing happens before they get here.
+public interface StudentRepository {
+
+    boolean insertStudent(Student student);
+
+    Student findStudentByEmail(String email);
+
+    // Name, student ID, department and mobile, found by email
+    boolean updateStudent(Student student);
+
+    // Compare-and-set: only replaces the password if it is still expected
+    boolean updatePassword(String email, String expected, String password);
+
+    // image is a ProfileImageStore hash, or null to remove the picture
+    boolean setProfileImage(String email, String image);
+
+    // Stores a picture where every client can read it and returns its hash, or null if
+    // it is not a supported image or could not be stored
+    String saveProfileImage(byte[] image);
+
+    // PNG thumbnail of a stored picture, null if the hash is unknown
+    byte[] getProfileThumbnail(String hash);
+
+    IdentityCheck checkIdentity(String email, String studentId);
+
+    boolean isEmailExists(String email);
+
+    boolean isStudentIdExists(String studentId);
+
+    int getTotalStudentCount();
+}
@@ -0,0 +1,38 @@
+package main;
+
+import helpers.ComplaintExporter;
+import helpers.DatabaseConfig;
+
+import java.nio.file.Path;
+
+// Exports every complaint without starting the UI:
+//   java -cp ... main.ExportComplaints complaints.csv
+// The format follows the file name: .csv or .jsonl, with .gz to compress. Reads the
+// MySQL database from DatabaseConfig; -Dportal.backend is ignored.
+public class ExportComplaints {
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: ExportComplaints <file.csv|file.jsonl>[.gz]");
+            System.exit(2);
+        }
+
+        Path file = Path.of(args[0]);
+        int status = 0;
+        try {
+            DatabaseConfig.startup().join();
+            ComplaintExporter.ExportResult result = ComplaintExporter.forFile(file)
+                    .export(file, rows -> System.out.print("\rExported " + rows + " complaints"));
+            System.out.println();
+            System.out.printf("✅ %d complaints written to %s (%.1f MB in %.1f s)%n", result.rows(), result.file(),
+                    result.bytes() / 1_048_576.0, result.millis() / 1000.0);
+        } catch (Exception e) {
+            System.out.println();
+            System.err.println("❌ Export failed: " + e.getMessage());
+            status = 1;
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+        System.exit(status);
+    }
+}
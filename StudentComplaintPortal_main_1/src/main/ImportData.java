@@ -0,0 +1,59 @@
+package main;
+
+import helpers.BulkImporter;
+import helpers.DatabaseConfig;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Bulk-loads students or complaints from CSV without starting the UI:
+//   java -cp ... main.ImportData students intake.csv [rejects.csv]
+//   java -cp ... main.ImportData complaints history.csv [rejects.csv]
+// Students need name, student_id, department, mobile, email and password columns.
+// Complaints need title, description, category and student_email; status, feedback
+// and created_at are optional. A file written by ExportComplaints can be imported as is.
+// Loads into the MySQL database from DatabaseConfig; -Dportal.backend is ignored.
+public class ImportData {
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: ImportData <students|complaints> <file.csv> [rejects.csv]");
+            System.exit(2);
+        }
+
+        BulkImporter.Kind kind;
+        try {
+            kind = BulkImporter.Kind.valueOf(args[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown import type: " + args[0] + " (use students or complaints)");
+            System.exit(2);
+            return;
+        }
+        Path file = Path.of(args[1]);
+        Path rejects = args.length > 2 ? Path.of(args[2]) : Path.of(args[1] + ".rejects.csv");
+
+        int status = 0;
+        long start = System.nanoTime();
+        try {
+            DatabaseConfig.startup().join();
+            BulkImporter.ImportResult result = new BulkImporter(kind).importFile(file, rejects, rows -> {
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("\rRead %d rows (%.0f rows/s)", rows, rows / seconds);
+            });
+            System.out.println();
+            System.out.printf("✅ Imported %d of %d rows in %.1f s (%.0f rows/s)%n", result.imported(), result.read(),
+                    result.millis() / 1000.0, result.rowsPerSecond());
+            if (result.rejected() > 0) {
+                System.out.println("⚠️ " + result.rejected() + " rows rejected, see " + result.rejectFile());
+                status = 1;
+            }
+        } catch (Exception e) {
+            System.out.println();
+            System.err.println("❌ Import failed: " + e.getMessage());
+            status = 1;
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+        System.exit(status);
+    }
+}
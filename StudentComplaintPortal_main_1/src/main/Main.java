@@ -1,36 +1,71 @@
 package main;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
+import helpers.AsyncService;
+import helpers.Backend;
+import helpers.CredentialService;
 import helpers.SceneSwitcher;
-import helpers.DatabaseConfig;
+import helpers.LogConfig;
+import helpers.Metrics;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Main extends Application {
+    private static final Logger LOG = Logger.getLogger(Main.class.getName());
 
     @Override
     public void start(Stage primaryStage) {
-        System.out.println("=== Student Complaint Portal Starting ===");
+        LogConfig.configure();
+        LOG.info("Student Complaint Portal starting");
+        Metrics.startReporter();
 
-        if (!DatabaseConfig.testConnection()) {
-            showDatabaseError();
-            return;
-        }
+        // Connect and migrate the schema (or load the embedded store) while the login
+        // form is already showing; DAO calls made before that finishes wait for it.
+        Backend.startup().whenComplete((ignored, error) -> {
+            if (error != null) {
+                Platform.runLater(this::showDatabaseError);
+            }
+        });
+
+        CredentialService.warmUp();
 
         SceneSwitcher.setPrimaryStage(primaryStage);
         SceneSwitcher.switchScene("LoginScene.fxml", "Student Complaint Portal - Login");
 
         primaryStage.setResizable(false);
         primaryStage.show();
+
+        // Parse the remaining scenes while the user is looking at the login form
+        SceneSwitcher.preloadScenes();
         
-        System.out.println("✅ Application started successfully!");
+        LOG.info("Application started");
+    }
+
+    @Override
+    public void stop() {
+        AsyncService.shutdown();
+        CredentialService.shutdown();
+        if (SceneSwitcher.getComplaintCacheStats() != null) {
+            LOG.log(Level.INFO, "Complaint cache {0}", SceneSwitcher.getComplaintCacheStats());
+            LOG.log(Level.INFO, "Student cache {0}", SceneSwitcher.getStudentCacheStats());
+        }
+        Metrics.stop();
+        Backend.shutdown();
     }
 
     private void showDatabaseError() {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Database Connection Error");
         alert.setHeaderText("Cannot connect to database");
-        alert.setContentText("Please make sure XAMPP MySQL is running on port 3306");
+        alert.setContentText(switch (Backend.getType()) {
+            case Backend.EMBEDDED -> "Could not open the embedded data directory; see the log for details";
+            case Backend.REMOTE -> "Cannot reach the portal server (" + Backend.describe() + ")";
+            default -> "Please make sure XAMPP MySQL is running on port 3306";
+        });
         alert.showAndWait();
         System.exit(1);
     }
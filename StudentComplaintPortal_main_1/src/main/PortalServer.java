@@ -0,0 +1,192 @@
+package main;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import helpers.Backend;
+import helpers.Json;
+import helpers.LogConfig;
+import helpers.Metrics;
+import helpers.ProfileImageStore;
+import helpers.RepositoryApi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runs the complaint and student repositories as an HTTP/JSON service, so desktop
+// clients share one connection pool and one set of caches instead of each opening
+// their own connections to MySQL:
+//
+//   java -cp ... main.PortalServer [-Dportal.server.port=8080] [-Dportal.server.host=0.0.0.0]
+//        [-Dportal.server.token=secret] [-Dportal.backend=mysql|embedded]
+//
+// It listens on 127.0.0.1 unless -Dportal.server.host says otherwise, and refuses any
+// other address without a token. Clients start with -Dportal.backend=remote
+// -Dportal.server.url=http://host:8080 (and the same token). Every request runs on its own virtual thread; database work is
+// still bounded by the pool. RepositoryApi describes the endpoints; GET /api/health
+// answers once storage is ready.
+public class PortalServer {
+    private static final Logger LOG = Logger.getLogger(PortalServer.class.getName());
+
+    private static final int PORT = Integer.getInteger("portal.server.port", 8080);
+    private static final String HOST = System.getProperty("portal.server.host", "127.0.0.1");
+    private static final String TOKEN = System.getProperty("portal.server.token");
+    private static final int BACKLOG = 256;
+    // Room for one profile picture, which travels as base64
+    private static final int MAX_BODY_BYTES = (int) (ProfileImageStore.MAX_IMAGE_BYTES * 4 / 3) + 1024 * 1024;
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    public static void main(String[] args) throws IOException {
+        // Small JSON responses otherwise wait out the client's delayed ACK (~40 ms each)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        LogConfig.configure();
+        if (Backend.REMOTE.equals(Backend.getType())) {
+            System.err.println("The server needs local storage; start it with -Dportal.backend=mysql or embedded");
+            System.exit(2);
+        }
+        InetAddress address = InetAddress.getByName(HOST);
+        if (TOKEN == null && !address.isLoopbackAddress()) {
+            System.err.println("Listening on " + HOST + " lets other machines read and change data;"
+                    + " set -Dportal.server.token as well, or use the default 127.0.0.1");
+            System.exit(2);
+        }
+        Metrics.startReporter();
+        try {
+            Backend.startup().join();
+        } catch (RuntimeException e) {
+            LOG.log(Level.SEVERE, "Storage did not start", e);
+            System.exit(1);
+        }
+
+        RepositoryApi api = new RepositoryApi(Backend.complaints(), Backend.students());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpServer server = HttpServer.create(new InetSocketAddress(address, PORT), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/api/health", PortalServer::health);
+        server.createContext("/api/", exchange -> call(api, exchange));
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOG.info("Portal server stopping");
+            server.stop(STOP_DELAY_SECONDS);
+            executor.shutdown();
+            Metrics.stop();
+            Backend.shutdown();
+        }, "portal-server-stop"));
+
+        LOG.log(Level.INFO, "Portal server listening host={0} port={1,number,#} backend={2} token={3}",
+                new Object[]{HOST, PORT, Backend.getType(), TOKEN != null ? "required" : "none"});
+    }
+
+    private static void health(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!authorized(exchange)) {
+                respond(exchange, 401, error("Missing or wrong token"));
+                return;
+            }
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("status", "ok");
+            status.put("backend", Backend.getType());
+            respond(exchange, 200, status);
+        }
+    }
+
+    private static void call(RepositoryApi api, HttpExchange exchange) throws IOException {
+        // /api/<repository>/<method>
+        String path = exchange.getRequestURI().getPath().substring("/api/".length());
+        long start = System.nanoTime();
+        boolean timed = false;
+        try (exchange) {
+            if (!authorized(exchange)) {
+                respond(exchange, 401, error("Missing or wrong token"));
+                return;
+            }
+            // Only real endpoints get a timer, so made-up paths cannot grow the registry
+            timed = api.has(path);
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, error("Use POST"));
+                return;
+            }
+
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                respond(exchange, 413, error("Request body over " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+
+            Object result;
+            try {
+                Object args = body.length == 0 ? Map.of() : Json.parse(new String(body, StandardCharsets.UTF_8));
+                if (!(args instanceof Map<?, ?> map)) {
+                    respond(exchange, 400, error("Body must be a JSON object"));
+                    return;
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> named = (Map<String, Object>) map;
+                result = api.call(path, named);
+            } catch (RepositoryApi.BadRequestException e) {
+                respond(exchange, e.isUnknownMethod() ? 404 : 400, error(e.getMessage()));
+                return;
+            } catch (IllegalArgumentException | ClassCastException e) {
+                respond(exchange, 400, error(e.getMessage()));
+                return;
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("result", result);
+            respond(exchange, 200, response);
+        } catch (RuntimeException e) {
+            LOG.log(Level.SEVERE, "Request failed path=" + path, e);
+            try {
+                respond(exchange, 500, error("Internal error"));
+            } catch (IOException | RuntimeException ignored) {
+                // headers were already sent; the client sees a broken response
+            }
+        } finally {
+            if (timed) Metrics.timer("http." + path.replace('/', '.')).recordSince(start);
+        }
+    }
+
+    private static boolean authorized(HttpExchange exchange) {
+        if (TOKEN == null) return true;
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        String expected = "Bearer " + TOKEN;
+        // Constant-time, so response timing says nothing about the token
+        return header != null && MessageDigest.isEqual(header.getBytes(StandardCharsets.UTF_8),
+                expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null when the body is larger than allowed
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message);
+        return error;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
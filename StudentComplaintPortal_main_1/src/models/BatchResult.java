@@ -0,0 +1,16 @@
+package models;
+
+import java.util.List;
+
+// Per-row outcome of a bulk admin operation. Rows in failed were not changed:
+// they no longer exist, or the whole batch was rolled back (see error).
+public record BatchResult(List<Integer> succeeded, List<Integer> failed, String error) {
+
+    public int total() {
+        return succeeded.size() + failed.size();
+    }
+
+    public boolean allSucceeded() {
+        return failed.isEmpty();
+    }
+}
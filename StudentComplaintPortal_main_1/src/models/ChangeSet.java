@@ -0,0 +1,15 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Complaints changed or deleted since a watermark, for keeping a loaded list current.
+// Pass watermark to the next call. When complete is false there were too many changes
+// (or the watermark is too old to know about every delete) and the caller should
+// reload instead of merging.
+public record ChangeSet(List<ComplaintSummary> changed, List<Integer> deleted, LocalDateTime watermark, boolean complete) {
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && deleted.isEmpty();
+    }
+}
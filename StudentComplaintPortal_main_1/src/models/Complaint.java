@@ -1,5 +1,7 @@
 package models;
 
+import java.time.LocalDateTime;
+
 public class Complaint {
     private int id;
     private String title;
@@ -11,10 +13,23 @@ public class Complaint {
     // New: admin feedback
     private String feedback;
 
+    private LocalDateTime createdAt;
+
     public Complaint() {
         this.status = "Pending";
     }
 
+    public Complaint(Complaint other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.category = other.category;
+        this.status = other.status;
+        this.studentEmail = other.studentEmail;
+        this.feedback = other.feedback;
+        this.createdAt = other.createdAt;
+    }
+
     public Complaint(String title, String description, String category, String studentEmail) {
         this.title = title;
         this.description = description;
@@ -43,4 +58,7 @@ public class Complaint {
 
     public String getFeedback() { return feedback; }
     public void setFeedback(String feedback) { this.feedback = feedback; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,11 @@
+package models;
+
+import java.util.List;
+
+// One page of complaint summaries. next is null when there are no more rows.
+public record ComplaintPage(List<ComplaintSummary> items, PageCursor next) {
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
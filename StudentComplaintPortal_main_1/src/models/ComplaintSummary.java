@@ -0,0 +1,53 @@
+package models;
+
+import java.time.LocalDateTime;
+
+// Lightweight row for list screens: no description and only the start of the feedback.
+// Load the full Complaint with getComplaintById when it is actually needed.
+public class ComplaintSummary {
+    private int id;
+    private String title;
+    private String category;
+    private String status;
+    private String studentEmail;
+    private String feedbackPreview;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public ComplaintSummary() {}
+
+    public ComplaintSummary(ComplaintSummary other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.category = other.category;
+        this.status = other.status;
+        this.studentEmail = other.studentEmail;
+        this.feedbackPreview = other.feedbackPreview;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getStudentEmail() { return studentEmail; }
+    public void setStudentEmail(String studentEmail) { this.studentEmail = studentEmail; }
+
+    public String getFeedbackPreview() { return feedbackPreview; }
+    public void setFeedbackPreview(String feedbackPreview) { this.feedbackPreview = feedbackPreview; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,34 @@
+package models;
+
+// Immutable snapshot of the complaint counters shown on the dashboards.
+// For a per-student snapshot totalStudents is always 1.
+public record DashboardStats(int totalStudents, int totalComplaints, int pending, int inProgress, int resolved) {
+
+    public static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0, 0);
+
+    // Deltas so a screen can adjust its counters after a write without re-querying.
+
+    public DashboardStats withComplaintAdded(String status) {
+        return adjust(totalComplaints + 1, status, 1);
+    }
+
+    public DashboardStats withComplaintRemoved(String status) {
+        return adjust(totalComplaints - 1, status, -1);
+    }
+
+    public DashboardStats withStatusChange(String from, String to) {
+        if (from == null || from.equals(to)) return this;
+        return adjust(totalComplaints, from, -1).adjust(totalComplaints, to, 1);
+    }
+
+    private DashboardStats adjust(int total, String status, int delta) {
+        int p = pending, ip = inProgress, r = resolved;
+        switch (status == null ? "" : status) {
+            case "Pending" -> p += delta;
+            case "In Progress" -> ip += delta;
+            case "Resolved" -> r += delta;
+            default -> {}
+        }
+        return new DashboardStats(totalStudents, total, p, ip, r);
+    }
+}
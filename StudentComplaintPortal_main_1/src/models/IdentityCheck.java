@@ -0,0 +1,9 @@
+package models;
+
+// Answer to the sign-up uniqueness probe: which of the two keys already belong to a student.
+public record IdentityCheck(boolean emailTaken, boolean studentIdTaken) {
+
+    public boolean anyTaken() {
+        return emailTaken || studentIdTaken;
+    }
+}
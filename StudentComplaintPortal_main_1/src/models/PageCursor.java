@@ -0,0 +1,7 @@
+package models;
+
+import java.time.LocalDateTime;
+
+// Keyset position in a list ordered by (created_at DESC, id DESC): the last row already shown.
+public record PageCursor(LocalDateTime createdAt, int id) {
+}
@@ -0,0 +1,11 @@
+package models;
+
+import java.util.List;
+
+// One page of search results, best match first. nextOffset is -1 when there are no more rows.
+public record SearchPage(List<ComplaintSummary> items, int nextOffset) {
+
+    public boolean hasMore() {
+        return nextOffset >= 0;
+    }
+}
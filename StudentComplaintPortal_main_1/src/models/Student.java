@@ -7,9 +7,20 @@ public class Student {
     private String mobile;
     private String email;
     private String password;
+    private String profileImage; // ProfileImageStore hash, null when there is no picture
 
     public Student() {}
 
+    public Student(Student other) {
+        this.name = other.name;
+        this.studentId = other.studentId;
+        this.department = other.department;
+        this.mobile = other.mobile;
+        this.email = other.email;
+        this.password = other.password;
+        this.profileImage = other.profileImage;
+    }
+
     public Student(String name, String studentId, String department, String mobile, String email, String password) {
         this.name = name;
         this.studentId = studentId;
@@ -36,4 +47,7 @@ public class Student {
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+
+    public String getProfileImage() { return profileImage; }
+    public void setProfileImage(String profileImage) { this.profileImage = profileImage; }
 }
@@ -0,0 +1,170 @@
+package helpers;
+
+import models.Complaint;
+import models.ComplaintSummary;
+import models.Student;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// Journal replay, compaction and recovery from a crash mid-write
+public class EmbeddedStoreTest {
+
+    private static final String EMAIL = "ann@example.com";
+
+    private Path dir;
+    private EmbeddedStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("embedded-store-test");
+        store = open();
+        assertTrue(store.insertStudent(new Student("Ann", "S001", "CS", "0123456789", EMAIL, "hash")));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (store != null) store.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private EmbeddedStore open() {
+        EmbeddedStore opened = new EmbeddedStore(dir);
+        opened.open().join();
+        return opened;
+    }
+
+    private EmbeddedStore reopen() {
+        store.close();
+        store = open();
+        return store;
+    }
+
+    private int insert(String title) {
+        Complaint complaint = new Complaint(title, "Details of " + title, "Facility", EMAIL);
+        assertTrue(store.insertComplaint(complaint));
+        return complaint.getId();
+    }
+
+    private Path journal() {
+        return dir.resolve("store.journal");
+    }
+
+    private long journalLines() throws IOException {
+        try (Stream<String> lines = Files.lines(journal(), StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isEmpty()).count();
+        }
+    }
+
+    @Test
+    public void replaysInsertsUpdatesAndDeletes() {
+        int kept = insert("Broken heater");
+        int deleted = insert("Noisy corridor");
+        assertTrue(store.setComplaintStatus(kept, "Resolved"));
+        assertTrue(store.setComplaintFeedback(kept, "Fixed\ttoday\nby facilities"));
+        assertTrue(store.deleteComplaint(deleted));
+
+        reopen();
+
+        Complaint c = store.getComplaintById(kept);
+        assertNotNull(c);
+        assertEquals("Broken heater", c.getTitle());
+        assertEquals("Resolved", c.getStatus());
+        assertEquals("Fixed\ttoday\nby facilities", c.getFeedback());
+        assertNull(store.getComplaintById(deleted));
+        assertEquals(1, store.getTotalComplaintCount());
+        assertEquals("Ann", store.findStudentByEmail(EMAIL).getName());
+        // A deleted last id is not handed out again
+        assertTrue(insert("Another") > deleted);
+    }
+
+    @Test
+    public void compactsAndKeepsTheIdCounter() throws IOException {
+        int first = insert("Broken heater");
+        int last = insert("Noisy corridor");
+        for (int i = 0; i < 10_100; i++) {
+            assertTrue(store.setComplaintStatus(first, i % 2 == 0 ? "In Progress" : "Pending"));
+        }
+        assertTrue(store.deleteComplaint(last));
+        assertTrue("journal was not compacted: " + journalLines(), journalLines() < 1_000);
+        assertFalse(Files.exists(dir.resolve("store.journal.tmp")));
+
+        // Writes after the compaction go to the new journal
+        assertTrue(store.setComplaintFeedback(first, "Done"));
+        reopen();
+
+        assertEquals("Done", store.getComplaintById(first).getFeedback());
+        assertEquals("Pending", store.getComplaintById(first).getStatus());
+        assertEquals(1, store.getTotalComplaintCount());
+        assertTrue(insert("After compaction") > last);
+    }
+
+    @Test
+    public void skipsATornLastRecord() throws IOException {
+        int id = insert("Broken heater");
+        store.close();
+        // A crash part way through appending the next record
+        Files.writeString(journal(), "C\t99\tHalf a rec", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        store = open();
+        assertEquals("Broken heater", store.getComplaintById(id).getTitle());
+        assertNull(store.getComplaintById(99));
+
+        // The next record starts on a line of its own and survives another replay
+        int next = insert("Noisy corridor");
+        reopen();
+        assertEquals("Noisy corridor", store.getComplaintById(next).getTitle());
+        assertEquals(2, store.getTotalComplaintCount());
+    }
+
+    @Test
+    public void refusesASecondOpenOfTheSameDirectory() {
+        try {
+            new EmbeddedStore(dir).open().join();
+            fail("opened a directory that is already in use");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        // Closing releases it
+        reopen();
+        assertNotNull(store.findStudentByEmail(EMAIL));
+    }
+
+    @Test
+    public void searchFollowsChanges() {
+        int heater = insert("Broken heater");
+        assertEquals(List.of(heater), ids(store.searchComplaints("heater", null, 0, 10).items()));
+
+        int radiator = insert("Heater and radiator");
+        assertEquals(2, store.searchComplaints("heater", null, 0, 10).items().size());
+        assertTrue(store.deleteComplaint(heater));
+        assertEquals(List.of(radiator), ids(store.searchComplaints("heater", null, 0, 10).items()));
+        assertTrue(store.setComplaintStatus(radiator, "Resolved"));
+        assertEquals(0, store.searchComplaints("heater", "Pending", 0, 10).items().size());
+    }
+
+    private static List<Integer> ids(List<ComplaintSummary> items) {
+        return items.stream().map(ComplaintSummary::getId).toList();
+    }
+}